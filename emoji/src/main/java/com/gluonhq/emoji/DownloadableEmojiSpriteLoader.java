@@ -137,6 +137,11 @@ public class DownloadableEmojiSpriteLoader implements EmojiSpriteLoader {
         return DownloadableEmojiSpriteLoader.class.getResourceAsStream("emoji.csv");
     }
 
+    @Override
+    public InputStream loadIndex() {
+        return EmojiSpriteLoader.loadBundledIndex();
+    }
+
     private void downloadFile(URL url, Path filePath, Path lockFile) throws IOException {
         try (InputStream inputStream = url.openStream()) {
             Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
@@ -29,10 +29,9 @@ package com.gluonhq.emoji;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * The Emoji class holds all the parameters that define an Emoji instance,
@@ -41,8 +40,10 @@ import java.util.stream.Stream;
  */
 public class Emoji {
 
-    private static final String ITEMS_LIST_DELIMITER = "!";
-    private static final String FIELDS_SKIN_DELIMITER = ",";
+    private static final String IMAGE_EXTENSION = ".png";
+    private static final int[] NO_CODE_POINTS = new int[0];
+
+    private int id = -1;
 
     private String name;
 
@@ -58,8 +59,17 @@ public class Emoji {
 
     private String google;
 
+    /**
+     * The name of the image file. When it is the default name derived from the unified
+     * value, like most emojis have, derivedImage is set instead, and the name is only
+     * created and kept the first time it is needed, so emojis that are never drawn don't
+     * hold it. So changing the unified value has to store the name of the image of the
+     * previous value.
+     */
     private String image;
 
+    private boolean derivedImage;
+
     private int sheetX;
 
     private int sheetY;
@@ -94,6 +104,29 @@ public class Emoji {
 
     private String obsoletedBy;
 
+    /**
+     * The codepoints and the UTF-16 string of the unified value, parsed once
+     * when it is set, or empty and null if it is null or not valid
+     */
+    private int[] codePoints = NO_CODE_POINTS;
+
+    private String character;
+
+    /**
+     * Gets the dense id of the emoji, assigned when the emojis are loaded, from 0 to the
+     * number of emojis - 1, following the sort order, with skin variations right after
+     * their emoji. It can be used as index of the arrays of {@link EmojiColumns}.
+     *
+     * @return the id of the emoji, or -1 if it isn't part of the loaded emojis
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Gets the official Unicode name, like "SMILING FACE WITH OPEN MOUTH AND SMILING EYES".
      *
@@ -130,10 +163,32 @@ public class Emoji {
      * a variant selector "FE0F", a zero width joiner "-200D",
      * skin tone ("1F3FB" to "1F3FB") or hairstyle modifiers ("1F9B0" to "1F9B3").
      *
+     * If the value is not a valid sequence of hex codepoints, it is still set, but the
+     * emoji has no codepoints and its {@link #character()} is null.
+     *
+     * The unified value identifies the emoji in {@link #equals(Object)} and {@link #hashCode()},
+     * so it must not be changed while the emoji is in a hash-based collection, like a
+     * key of a HashMap or an element of a HashSet.
+     *
      * @param unified a string with the unicode codepoint(s) of the emoji
      */
     public void setUnified(String unified) {
+        // keep the current image, which is implicit if it is the default one
+        String image = getImage();
         this.unified = unified;
+        setImage(image);
+        int[] codePoints = NO_CODE_POINTS;
+        String character = null;
+        if (unified != null) {
+            try {
+                codePoints = parseCodePoints(unified);
+                character = new String(codePoints, 0, codePoints.length);
+            } catch (IllegalArgumentException e) {
+                codePoints = NO_CODE_POINTS;
+            }
+        }
+        this.codePoints = codePoints;
+        this.character = character;
     }
 
     /**
@@ -244,6 +299,10 @@ public class Emoji {
      * @return the name of the image file
      */
     public String getImage() {
+        if (derivedImage && image == null) {
+            // created once, the first time it is needed
+            image = defaultImage(unified);
+        }
         return image;
     }
 
@@ -253,7 +312,8 @@ public class Emoji {
      * @param image a string with the name of the image file of the emoji
      */
     public void setImage(String image) {
-        this.image = image;
+        this.derivedImage = image != null && unified != null && image.equals(defaultImage(unified));
+        this.image = derivedImage ? null : image;
     }
 
     /**
@@ -331,6 +391,8 @@ public class Emoji {
      * For instance, the short names for "1F92B" are "shushing_face"
      * and "face_with_finger_covering_closed_lips".
      *
+     * The lists of the emojis loaded from the dataset are unmodifiable.
+     *
      * @return a list of one or more common short names for the emoji
      */
     public List<String> getShortNameList() {
@@ -370,6 +432,8 @@ public class Emoji {
      * Gets a list with the ASCII version of the emoji, like ";)" and ";-)" for "1F609",
      * or empty if none exists.
      *
+     * The lists of the emojis loaded from the dataset are unmodifiable.
+     *
      * @return a list with the ASCII versions of the emoji
      */
     public List<String> getTextList() {
@@ -620,60 +684,120 @@ public class Emoji {
      * @return true if the emoji is coded on two or more bytes
      */
     public boolean isDoubleByte(Emoji emoji) {
-        return getUnified().contains("-");
+        return codePoints.length > 1;
     }
 
     /**
      * Gets the unicode character of the emoji in UTF-16 representation.
      * For instance, for an emoji with unified value "1F44B", returns "\uD83D\uDC4B"
      *
-     * @return the unicode character of the emoji
+     * @return the unicode character of the emoji, or null if the unified value is null or not valid
      */
     public String character() {
-        return unicodeCharacter();
+        return character;
     }
 
-    private String unicodeCharacter() {
-        StringBuilder emojiString = new StringBuilder();
-        final String unified = getUnified();
-        for (String s : unified.split("-")) {
-            emojiString.append(Character.toChars(Integer.parseInt(s, 16)));
+    /**
+     * Gets the number of codepoints of the emoji.
+     * For instance, for an emoji with unified value "1F44B-1F3FC", returns 2
+     *
+     * @return the number of codepoints of the emoji
+     */
+    public int codePointCount() {
+        return codePoints.length;
+    }
+
+    /**
+     * Gets one of the codepoints of the emoji, without parsing the unified value.
+     * For instance, for an emoji with unified value "1F44B-1F3FC", the codepoint
+     * at index 1 is 0x1F3FC
+     *
+     * @param index the index of the codepoint, from 0 to {@link #codePointCount()} - 1
+     * @return the codepoint at the given index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int codePointAt(int index) {
+        return codePoints[index];
+    }
+
+    /**
+     * Gets a copy of the codepoints of the emoji.
+     * For instance, for an emoji with unified value "1F44B-1F3FC", returns {0x1F44B, 0x1F3FC}
+     *
+     * @return a new array with the codepoints of the emoji
+     */
+    public int[] getCodePoints() {
+        return codePoints.clone();
+    }
+
+    /**
+     * Converts a string of one or more hex code points, concatenated using "-",
+     * into its UTF-16 representation.
+     * For instance, for "1F44B-1F3FC", returns "\uD83D\uDC4B\uD83C\uDFFC"
+     *
+     * @param unified a string of hex code points
+     * @return the UTF-16 string
+     */
+    static String unicodeCharacter(String unified) {
+        int[] codePoints = parseCodePoints(unified);
+        return new String(codePoints, 0, codePoints.length);
+    }
+
+    /**
+     * Parses a string of one or more hex code points, concatenated using "-"
+     */
+    private static int[] parseCodePoints(String unified) {
+        int count = 1;
+        for (int i = 0; i < unified.length(); i++) {
+            if (unified.charAt(i) == '-') {
+                count++;
+            }
+        }
+        int[] codePoints = new int[count];
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = unified.indexOf('-', start);
+            if (end < 0) {
+                end = unified.length();
+            }
+            codePoints[i] = Integer.parseInt(unified, start, end, 16);
+            start = end + 1;
         }
-        return emojiString.toString();
+        return codePoints;
     }
 
+    /**
+     * Two emojis are equal if they have the same unified codepoints, which identify
+     * an emoji in the dataset. The rest of the fields are not compared, so this is
+     * cheap enough for emojis used as keys of maps and caches, as long as their unified
+     * value doesn't change while they are used. Emojis without unified value are only
+     * equal to themselves.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Emoji emoji = (Emoji) o;
-        return sheetX == emoji.sheetX && sheetY == emoji.sheetY && sortOrder == emoji.sortOrder &&
-                hasImgApple == emoji.hasImgApple && hasImgGoogle == emoji.hasImgGoogle && hasImgTwitter == emoji.hasImgTwitter && hasImgFacebook == emoji.hasImgFacebook &&
-                Objects.equals(name, emoji.name) && Objects.equals(unified, emoji.unified) && Objects.equals(nonQualified, emoji.nonQualified) &&
-                Objects.equals(docomo, emoji.docomo) && Objects.equals(au, emoji.au) && Objects.equals(softbank, emoji.softbank) && Objects.equals(google, emoji.google) && Objects.equals(image, emoji.image) &&
-                Objects.equals(shortName, emoji.shortName) && Objects.equals(shortNameList, emoji.shortNameList) && Objects.equals(text, emoji.text) && Objects.equals(textList, emoji.textList) &&
-                Objects.equals(category, emoji.category) && Objects.equals(subcategory, emoji.subcategory) && Objects.equals(addedIn, emoji.addedIn) &&
-                Objects.equals(skinVariationMap, emoji.skinVariationMap) && Objects.equals(obsoletes, emoji.obsoletes) && Objects.equals(obsoletedBy, emoji.obsoletedBy);
+        return unified != null && unified.equals(emoji.unified);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, unified, nonQualified, docomo, au, softbank, google, image, sheetX, sheetY,
-                shortName, shortNameList, text, textList, category, subcategory, sortOrder, addedIn, hasImgApple, hasImgGoogle, hasImgTwitter, hasImgFacebook,
-                skinVariationMap, obsoletes, obsoletedBy);
+        return unified != null ? unified.hashCode() : System.identityHashCode(this);
     }
 
     @Override
     public String toString() {
         return "Emoji{" +
-                "name='" + name + '\'' +
+                "id=" + id +
+                ", name='" + name + '\'' +
                 ", unified='" + unified + '\'' +
                 ", nonQualified='" + nonQualified + '\'' +
                 ", docomo='" + docomo + '\'' +
                 ", au='" + au + '\'' +
                 ", softbank='" + softbank + '\'' +
                 ", google='" + google + '\'' +
-                ", image='" + image + '\'' +
+                ", image='" + getImage() + '\'' +
                 ", sheetX=" + sheetX +
                 ", sheetY=" + sheetY +
                 ", shortName='" + shortName + '\'' +
@@ -694,72 +818,31 @@ public class Emoji {
                 '}';
     }
 
-    static Emoji parseEmojiFromCSVList(List<String> v) {
-        int i = 0;
-        Emoji emoji = new Emoji();
-        emoji.name = v.get(i++);
-        emoji.unified = v.get(i++); emoji.nonQualified = getNullableField(v.get(i++));
-        emoji.docomo = getNullableField(v.get(i++)); emoji.au = getNullableField(v.get(i++)); emoji.softbank = getNullableField(v.get(i++)); emoji.google = getNullableField(v.get(i++));
-        emoji.image = v.get(i++);
-        emoji.sheetX = Integer.parseInt(v.get(i++)); emoji.sheetY = Integer.parseInt(v.get(i++));
-        emoji.shortName = v.get(i++);
-        emoji.shortNameList = parseListValues(v.get(i++));
-        emoji.text = getNullableField(v.get(i++));
-        emoji.textList = parseListValues(v.get(i++));
-        emoji.category = v.get(i++); emoji.subcategory = v.get(i++);
-        emoji.sortOrder = Integer.parseInt(v.get(i++)); emoji.addedIn = v.get(i++);
-        emoji.hasImgApple = Boolean.parseBoolean(v.get(i++)); emoji.hasImgGoogle = Boolean.parseBoolean(v.get(i++));
-        emoji.hasImgTwitter = Boolean.parseBoolean(v.get(i++)); emoji.hasImgFacebook = Boolean.parseBoolean(v.get(i++));
-        parseSkinVariations(emoji, v.get(i++));
-        emoji.obsoletes = getNullableField(v.get(i++));
-        emoji.obsoletedBy = getNullableField(v.get(i));
-        return emoji;
-    }
-
-    private static String getNullableField(String v) {
-        return (v == null || v.isEmpty()) ? null : v;
+    private static String defaultImage(String unified) {
+        return unified.toLowerCase(Locale.ROOT) + IMAGE_EXTENSION;
     }
 
-    private static List<String> parseListValues(String v) {
-        if (v == null || v.isEmpty()) {
-            return null;
-        }
-        return Stream.of(v.split(ITEMS_LIST_DELIMITER)).collect(Collectors.toList());
+    static String getNullableField(String v) {
+        return (v == null || v.isEmpty()) ? null : v;
     }
 
-    private static void parseSkinVariations(Emoji emoji, String skinToneList) {
-        if (skinToneList == null || skinToneList.isEmpty()) {
-            // no skin variations
-            return;
-        }
-        Stream.of(skinToneList.split(ITEMS_LIST_DELIMITER)).forEach(skinTone -> {
-            Emoji skinEmoji = new Emoji();
-            String[] values = skinTone.split(FIELDS_SKIN_DELIMITER);
-            int i = 0;
-            String tone = values[i++];
-            skinEmoji.name = emoji.getName() + ":" + EmojiSkinTone.getSkinVariationName(tone);
-            skinEmoji.unified = values[i++];
-            skinEmoji.nonQualified = getNullableField(values[i++]);
-            skinEmoji.image = values[i++];
-            skinEmoji.sheetX = Integer.parseInt(values[i++]);
-            skinEmoji.sheetY = Integer.parseInt(values[i++]);
-            skinEmoji.shortName = emoji.getShortName() + ":" + tone;
-            skinEmoji.shortNameList = List.of(skinEmoji.shortName);
-            skinEmoji.category = emoji.getCategory();
-            skinEmoji.subcategory = emoji.getSubcategory();
-            skinEmoji.sortOrder = emoji.getSortOrder();
-            skinEmoji.addedIn = values[i++];
-            skinEmoji.hasImgApple = Boolean.parseBoolean(values[i++]);
-            skinEmoji.hasImgGoogle = Boolean.parseBoolean(values[i++]);
-            skinEmoji.hasImgTwitter = Boolean.parseBoolean(values[i++]);
-            skinEmoji.hasImgFacebook = Boolean.parseBoolean(values[i++]);
-            if (values.length > 11) {
-                skinEmoji.obsoletes = getNullableField(values[i++]);
-                if (values.length > 12) {
-                    skinEmoji.obsoletedBy = getNullableField(values[i]);
-                }
-            }
-            emoji.skinVariationMap.put(tone, skinEmoji);
-        });
+    /**
+     * Creates the skin variation of an emoji for a given tone, with the fields that
+     * are taken from the emoji, and adds it to the skin variations of the emoji
+     *
+     * @param emoji the emoji with skin variations
+     * @param tone the skin tone value, like "1F3FB"
+     * @return the skin variation
+     */
+    static Emoji createSkinVariation(Emoji emoji, String tone) {
+        Emoji skinEmoji = new Emoji();
+        skinEmoji.name = emoji.getName() + ":" + EmojiSkinTone.getSkinVariationName(tone);
+        skinEmoji.shortName = emoji.getShortName() + ":" + tone;
+        skinEmoji.shortNameList = List.of(skinEmoji.shortName);
+        skinEmoji.category = emoji.getCategory();
+        skinEmoji.subcategory = emoji.getSubcategory();
+        skinEmoji.sortOrder = emoji.getSortOrder();
+        emoji.skinVariationMap.put(tone, skinEmoji);
+        return skinEmoji;
     }
 }
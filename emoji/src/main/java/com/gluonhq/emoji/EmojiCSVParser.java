@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the lines of the emoji csv file into {@link Emoji} objects.
+ *
+ * The fields of a line are found walking the characters of the file once, and are
+ * sliced from it by offset, without splitting the line or creating intermediate lists.
+ * Values that are repeated across many lines, like categories, subcategories or
+ * versions, are resolved to shared instances.
+ *
+ * Instances are not thread safe, each thread should use its own parser.
+ */
+final class EmojiCSVParser {
+
+    private static final char FIELDS_DELIMITER = '#';
+    private static final char ITEMS_LIST_DELIMITER = '!';
+    private static final char FIELDS_SKIN_DELIMITER = ',';
+    private static final int SKIN_FIELDS = 13;
+    private static final int MIN_SKIN_FIELDS = 11;
+
+    private final Map<Integer, String> sharedStrings;
+    private final int[] skinFieldStarts = new int[SKIN_FIELDS];
+    private final int[] skinFieldEnds = new int[SKIN_FIELDS];
+
+    private String csv;
+    private int position;
+    private int lineEnd;
+    private int fieldStart;
+    private int fieldEnd;
+
+    /**
+     * Creates a parser with its own shared strings
+     */
+    EmojiCSVParser() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Creates a parser that resolves the repeated values with the given map, so the
+     * parsers of the same file can share their values. The map is only used while
+     * parsing, and has to be thread safe if those parsers run in parallel.
+     *
+     * @param sharedStrings the shared strings, by their hash code
+     */
+    EmojiCSVParser(Map<Integer, String> sharedStrings) {
+        this.sharedStrings = sharedStrings;
+    }
+
+    /**
+     * Parses a line of the csv file
+     *
+     * @param csv the content of the csv file
+     * @param start the offset of the start of the line
+     * @param end the offset of the end of the line, without line terminators
+     * @return the emoji of the line
+     * @throws IllegalArgumentException if the line doesn't have all the fields
+     * @throws NumberFormatException if a numeric field is not valid
+     */
+    Emoji parse(String csv, int start, int end) {
+        this.csv = csv;
+        this.position = start;
+        this.lineEnd = end;
+        Emoji emoji = new Emoji();
+        emoji.setName(nextString());
+        emoji.setUnified(nextString());
+        emoji.setNonQualified(nextNullableString());
+        emoji.setDocomo(nextNullableString());
+        emoji.setAu(nextNullableString());
+        emoji.setSoftbank(nextNullableString());
+        emoji.setGoogle(nextNullableString());
+        emoji.setImage(nextString());
+        emoji.setSheetX(nextInt());
+        emoji.setSheetY(nextInt());
+        emoji.setShortName(nextString());
+        nextField();
+        emoji.setShortNameList(list(fieldStart, fieldEnd));
+        emoji.setText(nextNullableString());
+        nextField();
+        emoji.setTextList(list(fieldStart, fieldEnd));
+        nextField();
+        emoji.setCategory(shared(fieldStart, fieldEnd));
+        nextField();
+        emoji.setSubcategory(shared(fieldStart, fieldEnd));
+        emoji.setSortOrder(nextInt());
+        nextField();
+        emoji.setAddedIn(shared(fieldStart, fieldEnd));
+        emoji.setHasImgApple(nextBoolean());
+        emoji.setHasImgGoogle(nextBoolean());
+        emoji.setHasImgTwitter(nextBoolean());
+        emoji.setHasImgFacebook(nextBoolean());
+        nextField();
+        skinVariations(emoji, fieldStart, fieldEnd);
+        emoji.setObsoletes(nextNullableString());
+        emoji.setObsoletedBy(nextNullableString());
+        this.csv = null;
+        return emoji;
+    }
+
+    private void nextField() {
+        if (position > lineEnd) {
+            throw new IllegalArgumentException("Missing fields");
+        }
+        fieldStart = position;
+        fieldEnd = indexOf(FIELDS_DELIMITER, position, lineEnd);
+        position = fieldEnd + 1;
+    }
+
+    private String nextString() {
+        nextField();
+        return csv.substring(fieldStart, fieldEnd);
+    }
+
+    private String nextNullableString() {
+        nextField();
+        return nullableString(fieldStart, fieldEnd);
+    }
+
+    private int nextInt() {
+        nextField();
+        return Integer.parseInt(csv, fieldStart, fieldEnd, 10);
+    }
+
+    private boolean nextBoolean() {
+        nextField();
+        return parseBoolean(fieldStart, fieldEnd);
+    }
+
+    private void skinVariations(Emoji emoji, int start, int end) {
+        int itemStart = start;
+        while (itemStart < end) {
+            int itemEnd = indexOf(ITEMS_LIST_DELIMITER, itemStart, end);
+            if (itemEnd > itemStart) {
+                skinVariation(emoji, itemStart, itemEnd);
+            }
+            itemStart = itemEnd + 1;
+        }
+    }
+
+    private void skinVariation(Emoji emoji, int start, int end) {
+        int fields = 0;
+        int fieldStart = start;
+        while (fields < SKIN_FIELDS && fieldStart <= end) {
+            int fieldEnd = indexOf(FIELDS_SKIN_DELIMITER, fieldStart, end);
+            skinFieldStarts[fields] = fieldStart;
+            skinFieldEnds[fields++] = fieldEnd;
+            fieldStart = fieldEnd + 1;
+        }
+        if (fields < MIN_SKIN_FIELDS) {
+            throw new IllegalArgumentException("Missing skin variation fields");
+        }
+        int i = 0;
+        Emoji skinEmoji = Emoji.createSkinVariation(emoji, shared(skinFieldStarts[i], skinFieldEnds[i++]));
+        skinEmoji.setUnified(csv.substring(skinFieldStarts[i], skinFieldEnds[i++]));
+        skinEmoji.setNonQualified(nullableString(skinFieldStarts[i], skinFieldEnds[i++]));
+        skinEmoji.setImage(csv.substring(skinFieldStarts[i], skinFieldEnds[i++]));
+        skinEmoji.setSheetX(Integer.parseInt(csv, skinFieldStarts[i], skinFieldEnds[i++], 10));
+        skinEmoji.setSheetY(Integer.parseInt(csv, skinFieldStarts[i], skinFieldEnds[i++], 10));
+        skinEmoji.setAddedIn(shared(skinFieldStarts[i], skinFieldEnds[i++]));
+        skinEmoji.setHasImgApple(parseBoolean(skinFieldStarts[i], skinFieldEnds[i++]));
+        skinEmoji.setHasImgGoogle(parseBoolean(skinFieldStarts[i], skinFieldEnds[i++]));
+        skinEmoji.setHasImgTwitter(parseBoolean(skinFieldStarts[i], skinFieldEnds[i++]));
+        skinEmoji.setHasImgFacebook(parseBoolean(skinFieldStarts[i], skinFieldEnds[i++]));
+        if (fields > i) {
+            skinEmoji.setObsoletes(nullableString(skinFieldStarts[i], skinFieldEnds[i++]));
+            if (fields > i) {
+                skinEmoji.setObsoletedBy(nullableString(skinFieldStarts[i], skinFieldEnds[i]));
+            }
+        }
+    }
+
+    /**
+     * Returns the items of a list field, or null if the field is empty.
+     * Like with {@link String#split(String)}, trailing empty items are removed.
+     */
+    private List<String> list(int start, int end) {
+        if (start == end) {
+            return null;
+        }
+        // trailing delimiters would only add empty items
+        int listEnd = end;
+        while (listEnd > start && csv.charAt(listEnd - 1) == ITEMS_LIST_DELIMITER) {
+            listEnd--;
+        }
+        int size = listEnd == start ? 0 : 1;
+        for (int i = start; i < listEnd; i++) {
+            if (csv.charAt(i) == ITEMS_LIST_DELIMITER) {
+                size++;
+            }
+        }
+        String[] items = new String[size];
+        int itemStart = start;
+        for (int i = 0; i < size; i++) {
+            int itemEnd = indexOf(ITEMS_LIST_DELIMITER, itemStart, listEnd);
+            items[i] = csv.substring(itemStart, itemEnd);
+            itemStart = itemEnd + 1;
+        }
+        return List.of(items);
+    }
+
+    private String nullableString(int start, int end) {
+        return start == end ? null : csv.substring(start, end);
+    }
+
+    private boolean parseBoolean(int start, int end) {
+        return end - start == 4 && csv.regionMatches(true, start, "true", 0, 4);
+    }
+
+    private String shared(int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + csv.charAt(i);
+        }
+        String value = sharedStrings.get(hash);
+        if (value != null && value.length() == end - start && csv.startsWith(value, start)) {
+            return value;
+        }
+        value = csv.substring(start, end);
+        String previous = sharedStrings.putIfAbsent(hash, value);
+        return value.equals(previous) ? previous : value;
+    }
+
+    private int indexOf(char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (csv.charAt(i) == c) {
+                return i;
+            }
+        }
+        return end;
+    }
+}
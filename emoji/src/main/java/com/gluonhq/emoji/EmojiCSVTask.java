@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task that parses a range of lines of the emoji csv file, splitting
+ * it in halves until the ranges are small enough.
+ * The result is the list of emojis of the lines, in order, so the results of both
+ * halves are just appended. The only state shared while parsing is the concurrent map
+ * that the parsers of all the tasks use to share the repeated values.
+ */
+class EmojiCSVTask extends RecursiveTask<List<Emoji>> {
+
+    private static final int THRESHOLD = 128;
+
+    private final String csv;
+    private final int[] lineStarts;
+    private final int from;
+    private final int to;
+    private final Map<Integer, String> sharedStrings;
+
+    /**
+     * @param csv the content of the csv file
+     * @param lineStarts the offset of the start of each line, and the length of the file at the end
+     * @param from the index of the first line, inclusive
+     * @param to the index of the last line, exclusive
+     */
+    EmojiCSVTask(String csv, int[] lineStarts, int from, int to) {
+        this(csv, lineStarts, from, to, new ConcurrentHashMap<>());
+    }
+
+    private EmojiCSVTask(String csv, int[] lineStarts, int from, int to, Map<Integer, String> sharedStrings) {
+        this.csv = csv;
+        this.lineStarts = lineStarts;
+        this.from = from;
+        this.to = to;
+        this.sharedStrings = sharedStrings;
+    }
+
+    @Override
+    protected List<Emoji> compute() {
+        if (to - from > THRESHOLD) {
+            int split = from + (to - from) / 2;
+            EmojiCSVTask right = new EmojiCSVTask(csv, lineStarts, split, to, sharedStrings);
+            right.fork();
+            List<Emoji> list = new EmojiCSVTask(csv, lineStarts, from, split, sharedStrings).compute();
+            list.addAll(right.join());
+            return list;
+        }
+        List<Emoji> list = new ArrayList<>(to - from);
+        EmojiCSVParser parser = new EmojiCSVParser(sharedStrings);
+        for (int i = from; i < to; i++) {
+            int start = lineStarts[i];
+            int end = lineStarts[i + 1];
+            while (end > start && (csv.charAt(end - 1) == '\n' || csv.charAt(end - 1) == '\r')) {
+                end--;
+            }
+            if (end > start) {
+                Emoji emoji = EmojiData.parseCSVLine(parser, csv, start, end);
+                if (emoji != null) {
+                    list.add(emoji);
+                }
+            }
+        }
+        return list;
+    }
+}
@@ -27,6 +27,8 @@
  */
 package com.gluonhq.emoji;
 
+import java.util.List;
+
 public enum EmojiCategory {
     
     SMILEYS_PEOPLE("Smileys & Emotion, People & Body", "\uD83D\uDE00", "emoji-symbol"),
@@ -59,4 +61,25 @@ public enum EmojiCategory {
     public String getStyleClass() {
         return styleClass;
     }
+
+    /**
+     * Returns the emojis of this category, including skin variations, sorted by emoji's
+     * sort order, without filtering all the emojis
+     *
+     * @return an unmodifiable list with the emojis of this category
+     * @see EmojiData#emojiFromCategory(EmojiCategory)
+     */
+    public List<Emoji> getEmojis() {
+        return EmojiData.emojiFromCategory(this);
+    }
+
+    /**
+     * Returns the subcategories of the emojis of this category, in the sort order of their emojis
+     *
+     * @return an unmodifiable list with the subcategories of this category
+     * @see EmojiData#subcategories(EmojiCategory)
+     */
+    public List<String> getSubcategories() {
+        return EmojiData.subcategories(this);
+    }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only columns with the most used values of all the emojis, including skin
+ * variations, indexed by their dense id, as returned by {@link Emoji#getId()}.
+ *
+ * Hot paths can keep and pass around emoji ids instead of emoji objects, read these
+ * values without any hash lookup, and aggregate per emoji data into plain arrays of
+ * {@link #size()} elements.
+ *
+ * @see EmojiData#getEmojiColumns()
+ */
+public final class EmojiColumns {
+
+    /** Value of the parent id of emojis that are not skin variations */
+    public static final int NO_PARENT = -1;
+    /** Value of the category ordinal of emojis that are not in any {@link EmojiCategory} */
+    public static final int NO_CATEGORY = -1;
+
+    private final Emoji[] emojis;
+    private final short[] sheetX;
+    private final short[] sheetY;
+    private final int[] sortOrder;
+    private final byte[] categoryOrdinal;
+    private final int[] parentId;
+    private final byte[] toneOrdinal;
+    private final byte[] secondToneOrdinal;
+
+    /**
+     * Assigns the ids to the emojis, following their sort order, with the skin variations
+     * right after their emoji, sorted by tone
+     *
+     * @param emojis the emojis, without their skin variations
+     */
+    EmojiColumns(List<Emoji> emojis) {
+        List<Emoji> sorted = new ArrayList<>(emojis);
+        sorted.sort(Comparator.comparingInt(Emoji::getSortOrder));
+        List<Emoji> all = new ArrayList<>();
+        // the tone of each skin variation, or null
+        List<String> tones = new ArrayList<>();
+        for (Emoji emoji : sorted) {
+            all.add(emoji);
+            tones.add(null);
+            if (emoji.getSkinVariationMap() != null) {
+                emoji.getSkinVariationMap().entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey())
+                        .forEach(e -> {
+                            all.add(e.getValue());
+                            tones.add(e.getKey());
+                        });
+            }
+        }
+
+        int size = all.size();
+        this.emojis = all.toArray(new Emoji[0]);
+        sheetX = new short[size];
+        sheetY = new short[size];
+        sortOrder = new int[size];
+        categoryOrdinal = new byte[size];
+        parentId = new int[size];
+        toneOrdinal = new byte[size];
+        secondToneOrdinal = new byte[size];
+        Map<String, Integer> categories = new HashMap<>();
+        int parent = NO_PARENT;
+        for (int id = 0; id < size; id++) {
+            Emoji emoji = this.emojis[id];
+            emoji.setId(id);
+            sheetX[id] = (short) emoji.getSheetX();
+            sheetY[id] = (short) emoji.getSheetY();
+            sortOrder[id] = emoji.getSortOrder();
+            categoryOrdinal[id] = (byte) (int) categories.computeIfAbsent(emoji.getCategory(), EmojiColumns::categoryOrdinal);
+            String tone = tones.get(id);
+            if (tone == null) {
+                parent = id;
+                parentId[id] = NO_PARENT;
+            } else {
+                String[] parts = tone.split("-");
+                parentId[id] = parent;
+                toneOrdinal[id] = (byte) EmojiSkinTone.fromUnicode(parts[0]).ordinal();
+                secondToneOrdinal[id] = (byte) EmojiSkinTone.fromUnicode(parts[parts.length - 1]).ordinal();
+            }
+        }
+    }
+
+    /**
+     * @return the number of emojis, which is the length of the columns
+     */
+    public int size() {
+        return emojis.length;
+    }
+
+    /**
+     * @param id the id of an emoji
+     * @return the emoji with the given id
+     */
+    public Emoji emoji(int id) {
+        return emojis[id];
+    }
+
+    /**
+     * @param id the id of an emoji
+     * @return the x position of the emoji in the sprite sheets
+     * @see Emoji#getSheetX()
+     */
+    public int sheetX(int id) {
+        return sheetX[id];
+    }
+
+    /**
+     * @param id the id of an emoji
+     * @return the y position of the emoji in the sprite sheets
+     * @see Emoji#getSheetY()
+     */
+    public int sheetY(int id) {
+        return sheetY[id];
+    }
+
+    /**
+     * @param id the id of an emoji
+     * @return the global sorting index of the emoji
+     * @see Emoji#getSortOrder()
+     */
+    public int sortOrder(int id) {
+        return sortOrder[id];
+    }
+
+    /**
+     * @param id the id of an emoji
+     * @return the ordinal of the {@link EmojiCategory} of the emoji, or {@link #NO_CATEGORY}
+     */
+    public int categoryOrdinal(int id) {
+        return categoryOrdinal[id];
+    }
+
+    /**
+     * @param id the id of an emoji
+     * @return the id of the emoji of a skin variation, or {@link #NO_PARENT}
+     */
+    public int parentId(int id) {
+        return parentId[id];
+    }
+
+    /**
+     * @param id the id of an emoji
+     * @return the ordinal of the {@link EmojiSkinTone} of a skin variation, or of the
+     * first one if it has two tones, or 0 ({@link EmojiSkinTone#NO_SKIN_TONE}) for an emoji
+     * that is not a skin variation
+     */
+    public int toneOrdinal(int id) {
+        return toneOrdinal[id];
+    }
+
+    /**
+     * @param id the id of an emoji
+     * @return the ordinal of the second {@link EmojiSkinTone} of a skin variation with two
+     * tones, or the same value as {@link #toneOrdinal(int)} otherwise
+     */
+    public int secondToneOrdinal(int id) {
+        return secondToneOrdinal[id];
+    }
+
+    private static int categoryOrdinal(String category) {
+        for (EmojiCategory emojiCategory : EmojiCategory.values()) {
+            for (String name : emojiCategory.categoryName().split(", ")) {
+                if (name.equals(category)) {
+                    return emojiCategory.ordinal();
+                }
+            }
+        }
+        return NO_CATEGORY;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.List;
+
+/**
+ * Result of the completion of a shortName prefix, as returned by
+ * {@link EmojiData#complete(String, int)}.
+ *
+ * Besides the emojis found, it keeps the range of shortNames that start with the prefix,
+ * so it can be passed to {@link EmojiData#complete(String, int, EmojiCompletion)} to
+ * complete a longer prefix, as the user keeps typing, searching only within that range.
+ */
+public final class EmojiCompletion {
+
+    private final String prefix;
+    private final int from;
+    private final int to;
+    private final List<Emoji> emojis;
+
+    EmojiCompletion(String prefix, int from, int to, List<Emoji> emojis) {
+        this.prefix = prefix;
+        this.from = from;
+        this.to = to;
+        this.emojis = emojis;
+    }
+
+    /**
+     * @return the prefix that was completed, in lower case
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return an unmodifiable list with the emojis found, sorted by emoji's sort order
+     */
+    public List<Emoji> getEmojis() {
+        return emojis;
+    }
+
+    /**
+     * @return the index of the first shortName that starts with the prefix
+     */
+    int from() {
+        return from;
+    }
+
+    /**
+     * @return the index, exclusive, of the last shortName that starts with the prefix
+     */
+    int to() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return "EmojiCompletion{" +
+                "prefix='" + prefix + '\'' +
+                ", emojis=" + emojis +
+                '}';
+    }
+}
@@ -29,16 +29,27 @@ package com.gluonhq.emoji;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -48,66 +59,220 @@ import java.util.stream.Collectors;
  * one map with emoji's shortName as key, the other with emoji's unified as key,
  * providing utility methods to get collections of emojis or single emojis for a given
  * criteria.
+ *
+ * The emojis are loaded once, either explicitly, with {@link #preload(Executor)}, that
+ * applications can call at launch to load them on a background thread, or by the
+ * first lookup, as defined by the {@link LoadingPolicy}. If loading fails, lookups throw
+ * an {@link IllegalStateException}, and the error can be queried with {@link #getLoadingError()}.
+ *
+ * The maps are only modified while the emojis are loaded, and are read-only afterwards,
+ * so this class can be safely used from concurrent threads.
  */
 public class EmojiData {
 
+    /**
+     * Defines what lookups do when the emojis are not loaded yet
+     */
+    public enum LoadingPolicy {
+        /**
+         * Lookups wait until the emojis are loaded, loading them on the calling thread
+         * if {@link #preload(Executor)} wasn't called before. This is the default policy.
+         */
+        AWAIT,
+
+        /**
+         * Lookups throw an {@link IllegalStateException} until the emojis are loaded
+         */
+        FAIL_FAST
+    }
+
     private static final Logger LOG = Logger.getLogger(EmojiData.class.getName());
 
+    private static final CompletableFuture<Maps> MAPS = new CompletableFuture<>();
+    private static final AtomicBoolean LOADING = new AtomicBoolean();
+    private static volatile LoadingPolicy loadingPolicy = LoadingPolicy.AWAIT;
+
     /**
-     * Map that stores emojis with their shortName as key.
+     * Starts loading the emojis on the given executor, if they weren't loaded or
+     * being loaded already.
+     *
+     * @param executor the executor where the emojis are loaded
+     * @return a future that completes when the emojis are loaded, or completes
+     * exceptionally if they can't be loaded
      */
-    private static final Map<String, Emoji> EMOJI_MAP = new HashMap<>();
+    public static CompletableFuture<Void> preload(Executor executor) {
+        if (LOADING.compareAndSet(false, true)) {
+            try {
+                executor.execute(EmojiData::load);
+            } catch (RuntimeException ex) {
+                LOADING.set(false);
+                throw ex;
+            }
+        }
+        return MAPS.thenApply(maps -> null);
+    }
 
     /**
-     * Map that stores emojis with their unified field as key
+     * @return true if the emojis are loaded and ready to be used
      */
-    private static final Map<String, Emoji> EMOJI_UNICODE_MAP = new HashMap<>();
+    public static boolean isLoaded() {
+        return MAPS.isDone() && !MAPS.isCompletedExceptionally();
+    }
 
-    private static final String COMMA_DELIMITER = "#";
+    /**
+     * @return the error that prevented the emojis from loading, or empty if they are
+     * loaded, being loaded, or not loaded yet
+     */
+    public static Optional<Throwable> getLoadingError() {
+        if (!MAPS.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        try {
+            MAPS.join();
+            return Optional.empty();
+        } catch (CompletionException ex) {
+            return Optional.of(ex.getCause());
+        }
+    }
 
-    static {
-        // See emoji-updater module on how to get and update this csv file
-        try (final InputStream emojiStream = EmojiLoaderFactory.getEmojiImageLoader().loadCSV();
-             Scanner scanner = new Scanner(Objects.requireNonNull(emojiStream))) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                Scanner rowScanner = new Scanner(line);
-                rowScanner.useDelimiter(COMMA_DELIMITER);
-                List<String> values = new ArrayList<>();
-                while (rowScanner.hasNext()) {
-                    values.add(rowScanner.next());
-                }
-                try {
-                    Emoji e = Emoji.parseEmojiFromCSVList(values);
-                    EMOJI_UNICODE_MAP.put(e.getUnified(), e);
-                    EMOJI_MAP.put(e.getShortName(), e);
-                    if (e.getSkinVariationMap() != null) {
-                        e.getSkinVariationMap().values()
-                                .forEach(v -> {
-                                    EMOJI_UNICODE_MAP.put(v.getUnified(), v);
-                                    EMOJI_MAP.put(v.getShortName(), v);
-                                });
-                    }
-                } catch (Exception ex) {
-                    LOG.log(Level.SEVERE, "Error parsing line: " + line + ", " + ex.getMessage(), ex);
-                }
+    /**
+     * @return the policy of the lookups while the emojis are not loaded
+     */
+    public static LoadingPolicy getLoadingPolicy() {
+        return loadingPolicy;
+    }
+
+    /**
+     * Sets the policy of the lookups while the emojis are not loaded
+     *
+     * @param policy the loading policy, not null
+     */
+    public static void setLoadingPolicy(LoadingPolicy policy) {
+        loadingPolicy = Objects.requireNonNull(policy);
+    }
+
+    private static Maps maps() {
+        if (!MAPS.isDone()) {
+            if (loadingPolicy == LoadingPolicy.FAIL_FAST) {
+                throw new IllegalStateException("Emojis are not loaded yet");
+            }
+            // load on the calling thread, unless another thread is loading already
+            preload(Runnable::run);
+        }
+        try {
+            return MAPS.join();
+        } catch (CompletionException ex) {
+            throw new IllegalStateException("Emojis could not be loaded", ex.getCause());
+        }
+    }
+
+    private static void load() {
+        try {
+            // See emoji-updater module on how to get and update the index and csv files
+            EmojiIndex index = loadIndex();
+            List<Emoji> emojis = index != null ? index.emojis() : loadCSV();
+            if (emojis.isEmpty()) {
+                throw new IOException("No emojis found");
+            }
+            MAPS.complete(index != null ? new Maps(emojis, index.shortNameTable(), index.unifiedTable()) : new Maps(emojis));
+        } catch (Throwable ex) {
+            LOG.log(Level.SEVERE, "Error loading emojis: " + ex.getMessage(), ex);
+            MAPS.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Reads the emojis and their hash tables from the binary index, in a single read
+     *
+     * @return the index, or null if it is not available or can't be read
+     */
+    private static EmojiIndex loadIndex() {
+        try (final InputStream indexStream = EmojiLoaderFactory.getEmojiImageLoader().loadIndex()) {
+            if (indexStream == null) {
+                LOG.fine("Emoji index not available, using csv file");
+                return null;
             }
+            return readIndex(indexStream);
         } catch (IOException ex) {
-            LOG.log(Level.SEVERE, "Error parsing emoji csv file: " + ex.getMessage(), ex);
+            LOG.log(Level.WARNING, "Error reading emoji index, using csv file: " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    static EmojiIndex readIndex(InputStream indexStream) throws IOException {
+        return EmojiIndex.read(ByteBuffer.wrap(indexStream.readAllBytes()));
+    }
+
+    /**
+     * Parses the emojis from the csv file
+     *
+     * @return the list of emojis
+     * @throws IOException if the file is not available or can't be read
+     */
+    private static List<Emoji> loadCSV() throws IOException {
+        try (final InputStream emojiStream = EmojiLoaderFactory.getEmojiImageLoader().loadCSV()) {
+            if (emojiStream == null) {
+                throw new IOException("Emoji csv file not available");
+            }
+            return readCSV(emojiStream);
+        }
+    }
+
+    /**
+     * Parses the emojis of a csv file. The whole file is read at once, and its lines
+     * are parsed in parallel on the common fork-join pool.
+     *
+     * @param emojiStream the stream of the csv file
+     * @return the list of emojis, in the same order as the lines of the file
+     * @throws IOException if the stream can't be read
+     */
+    static List<Emoji> readCSV(InputStream emojiStream) throws IOException {
+        String csv = new String(emojiStream.readAllBytes(), StandardCharsets.UTF_8);
+        int lines = 0;
+        for (int i = 0; i < csv.length(); i++) {
+            if (csv.charAt(i) == '\n' || i == csv.length() - 1) {
+                lines++;
+            }
+        }
+        // the start of each line, and the length of the file after the last one
+        int[] lineStarts = new int[lines + 1];
+        for (int i = 0, line = 1; i < csv.length(); i++) {
+            if (csv.charAt(i) == '\n' || i == csv.length() - 1) {
+                lineStarts[line++] = i + 1;
+            }
+        }
+        return ForkJoinPool.commonPool().invoke(new EmojiCSVTask(csv, lineStarts, 0, lines));
+    }
+
+    /**
+     * Parses a line of the csv file
+     *
+     * @param parser the parser of the calling thread
+     * @param csv the content of the csv file
+     * @param start the offset of the start of the line
+     * @param end the offset of the end of the line, without line terminators
+     * @return the emoji of the line, or null if it can't be parsed
+     */
+    static Emoji parseCSVLine(EmojiCSVParser parser, String csv, int start, int end) {
+        try {
+            return parser.parse(csv, start, end);
+        } catch (Exception ex) {
+            LOG.log(Level.SEVERE, "Error parsing line: " + csv.substring(start, end) + ", " + ex.getMessage(), ex);
+            return null;
         }
     }
 
     /**
      * Returns Emoji from unicode string, or empty if not found.
-     * For instance, a string like "\uD83D\uDC4B" will return the "wave" emoji ("1F44B")
+     * For instance, a string like "\uD83D\uDC4B" will return the "wave" emoji ("1F44B").
+     * The non-qualified version of an emoji, without the variant selector, is accepted as well:
+     * both "\u263A\uFE0F" and "\u263A" will return the "relaxed" emoji ("263A-FE0F")
      *
      * @param unicodeText Unicode string representation
      * @return Emoji found for the string, or empty
      */
     public static Optional<Emoji> emojiFromUnicodeString(String unicodeText) {
-        return EMOJI_MAP.values().stream()
-                .filter(emoji -> emoji.character().equals(unicodeText))
-                .findFirst();
+        return Optional.ofNullable(maps().characterMap.get(unicodeText));
     }
 
     /**
@@ -118,10 +283,11 @@ public class EmojiData {
      * @return Emoji found for the codepoint string, or empty
      */
     public static Optional<Emoji> emojiFromCodepoints(String codePoint) {
-        Emoji value = EMOJI_UNICODE_MAP.get(codePoint);
+        Map<String, Emoji> unicodeMap = maps().unicodeMap;
+        Emoji value = unicodeMap.get(codePoint);
         if (value == null) {
             // try to qualify it
-            value = EMOJI_UNICODE_MAP.get(codePoint + "-FE0F");
+            value = unicodeMap.get(codePoint + "-FE0F");
         }
         return Optional.ofNullable(value);
     }
@@ -134,7 +300,7 @@ public class EmojiData {
      * @return Emoji found for the string, or empty
      */
     public static Optional<Emoji> emojiFromShortName(String shortName) {
-        return Optional.ofNullable(EMOJI_MAP.get(shortName));        
+        return Optional.ofNullable(maps().shortNameMap.get(shortName));        
     }
 
     /**
@@ -164,34 +330,161 @@ public class EmojiData {
 
     /**
      * Returns a list of emojis for a category string, sorted by emoji's sort order.
+     * It contains the emojis of every category included in the category string, like
+     * "People &amp; Body", or "Smileys &amp; Emotion, People &amp; Body", including
+     * skin variations.
      *
      * @param category Category string
-     * @return List of Emoji found for the category
+     * @return an unmodifiable List of Emoji found for the category
      */
     public static List<Emoji> emojiFromCategory(String category) {
-        return EMOJI_MAP.values().stream()
-                .filter(emoji -> category.contains(emoji.getCategory()))
-                .sorted(Comparator.comparingInt(Emoji::getSortOrder))
-                .collect(Collectors.toList());
+        Maps maps = maps();
+        List<Emoji> emojis = maps.categoryMap.get(category);
+        if (emojis != null) {
+            return emojis;
+        }
+        for (EmojiCategory emojiCategory : EmojiCategory.values()) {
+            if (emojiCategory.categoryName().equals(category)) {
+                return maps.emojiCategoryMap.get(emojiCategory);
+            }
+        }
+        return maps.categoryMap.entrySet().stream()
+                .filter(e -> category.contains(e.getKey()))
+                .flatMap(e -> e.getValue().stream())
+                .sorted(Comparator.comparingInt(Emoji::getId))
+                .collect(Collectors.toUnmodifiableList());
     }
 
     /**
-     * Returns a list of emojis for which their shortName contains a given text string,
-     * sorted by emoji's sort order.
+     * Returns the list of emojis of a category, including skin variations, sorted by
+     * emoji's sort order. The list is created once, when the emojis are loaded.
      *
-     * @param text text string
+     * @param category the category
+     * @return an unmodifiable List of Emoji of the category
+     */
+    public static List<Emoji> emojiFromCategory(EmojiCategory category) {
+        return maps().emojiCategoryMap.get(category);
+    }
+
+    /**
+     * Returns the list of emojis of a subcategory, like "animal-mammal", including skin
+     * variations, sorted by emoji's sort order
+     *
+     * @param subcategory the subcategory
+     * @return an unmodifiable List of Emoji of the subcategory, or an empty list if
+     * the subcategory doesn't exist
+     */
+    public static List<Emoji> emojiFromSubcategory(String subcategory) {
+        return maps().subcategoryMap.getOrDefault(subcategory, List.of());
+    }
+
+    /**
+     * Returns the subcategories of the emojis of a category, in the sort order of
+     * their emojis. For instance, the first subcategories of {@link EmojiCategory#NATURE}
+     * are "animal-mammal" and "animal-bird".
+     *
+     * @param category the category
+     * @return an unmodifiable list with the subcategories of the category
+     */
+    public static List<String> subcategories(EmojiCategory category) {
+        return maps().subcategoriesMap.get(category);
+    }
+
+    /**
+     * Returns a list of emojis for which their shortName contains all the words of a
+     * given text string, without duplicates. Emojis with a shortName equal to one of the
+     * words come first, then the ones with a shortName that starts with one of the words,
+     * and then the rest, each group sorted by emoji's sort order.
+     *
+     * @param text text string, with one or more words separated by spaces
      * @return List of Emoji found for the text string
      */
     public static List<Emoji> search(String text) {
-        List<Emoji> emojis = new ArrayList<>();
-        for (String s : text.split(" ")) {
-            emojis.addAll(EMOJI_MAP.entrySet().stream()
-                    .filter(es -> es.getKey().contains(s))
-                    .map(Map.Entry::getValue)
-                    .sorted(Comparator.comparingInt(Emoji::getSortOrder))
-                    .collect(Collectors.toList()));
-        }
-        return emojis;
+        return maps().searchIndex.search(text);
+    }
+
+    /**
+     * Returns the emojis that match all the words of a query in any of their searchable
+     * fields, as defined by {@link EmojiSearchField}: their shortName and aliases, name,
+     * ASCII versions like ":)" and subcategory. Skin variations are not included.
+     *
+     * A word matches a field if it is the beginning of one of the words of the field,
+     * and the score of an emoji adds the weight of the best field for each word, doubled
+     * if the word is complete. Words like "subcategory:animal-mammal", using the key of a
+     * field, are filters that only match that field, and don't add to the score. The text
+     * and subcategory filters match the whole value, so "subcategory:animal" matches nothing.
+     *
+     * The index used for this search is built the first time it is needed.
+     *
+     * @param query one or more words separated by spaces, case-insensitive
+     * @return the list of emojis found with their scores, sorted by score, and then by
+     * emoji's sort order
+     */
+    public static List<EmojiSearchResult> scoredSearch(String query) {
+        return maps().fieldIndex().search(query);
+    }
+
+    /**
+     * Returns a list of emojis with a shortName, alias or name that is similar to a
+     * given text string, tolerating typos, like "thumsup" or "hart". The maximum number
+     * of typos depends on the length of the text: none for one or two chars, one up to
+     * five chars, and two for longer texts.
+     *
+     * @param text text string
+     * @return List of Emoji found for the text string, sorted by similarity and then by
+     * emoji's sort order
+     * @see #fuzzySearch(String, int)
+     */
+    public static List<Emoji> fuzzySearch(String text) {
+        return fuzzySearch(text, text.length() < 3 ? 0 : text.length() <= 5 ? 1 : 2);
+    }
+
+    /**
+     * Returns a list of emojis with a shortName, alias or name that is within a maximum
+     * edit distance of a given text string: the number of chars that have to be inserted,
+     * removed or replaced to turn one into the other, ignoring case. Skin variations are
+     * not included.
+     *
+     * The index used for this search is built the first time it is needed.
+     *
+     * @param text text string
+     * @param maxDistance the maximum edit distance, from 0 to 3
+     * @return List of Emoji found for the text string, sorted by edit distance and then
+     * by emoji's sort order
+     * @throws IllegalArgumentException if the distance is out of range
+     */
+    public static List<Emoji> fuzzySearch(String text, int maxDistance) {
+        return maps().fuzzyIndex().search(text, maxDistance);
+    }
+
+    /**
+     * Returns the first emojis, sorted by emoji's sort order, with a shortName or an alias
+     * that starts with a given prefix, like the suggestions shown when ":sm" is typed.
+     * Skin variations are not included.
+     *
+     * @param prefix the beginning of a shortName, without colons
+     * @param limit the maximum number of emojis returned
+     * @return the completion of the prefix, with the emojis found
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public static EmojiCompletion complete(String prefix, int limit) {
+        return complete(prefix, limit, null);
+    }
+
+    /**
+     * Returns the first emojis, sorted by emoji's sort order, with a shortName or an alias
+     * that starts with a given prefix, narrowing the search to the range of the completion
+     * of a shorter prefix, as it happens when the user keeps typing.
+     *
+     * @param prefix the beginning of a shortName, without colons
+     * @param limit the maximum number of emojis returned
+     * @param previous the completion of a previous prefix, or null. It is ignored if the
+     *                 given prefix doesn't start with the previous one
+     * @return the completion of the prefix, with the emojis found
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public static EmojiCompletion complete(String prefix, int limit, EmojiCompletion previous) {
+        return maps().prefixIndex.complete(prefix, limit, previous);
     }
 
     /**
@@ -200,27 +493,48 @@ public class EmojiData {
      * @return a set with the shortNames of all emojis
      */
     public static Set<String> shortNamesSet() {
-        return EMOJI_MAP.keySet();
+        return Collections.unmodifiableSet(maps().shortNameMap.keySet());
     }
 
     /**
-     * Returns the collection of all emojis
+     * Returns the collection of all emojis, including skin variations, in the order of
+     * their ids
      *
      * @return the collection of all emojis
      */
     public static Collection<Emoji> getEmojiCollection() {
-        return EMOJI_UNICODE_MAP.values();
+        return maps().emojis;
+    }
+
+    /**
+     * Returns the columns with the values of all emojis, indexed by their id
+     *
+     * @return the columns of all emojis
+     * @see Emoji#getId()
+     */
+    public static EmojiColumns getEmojiColumns() {
+        return maps().columns;
+    }
+
+    /**
+     * Returns the emoji with a given id
+     *
+     * @param id the id of the emoji, from 0 to the number of emojis - 1
+     * @return the emoji with the given id
+     * @throws IndexOutOfBoundsException if there is no emoji with that id
+     * @see Emoji#getId()
+     */
+    public static Emoji emojiForId(int id) {
+        return maps().columns.emoji(id);
     }
 
     /**
-     * Returns a set with the categories of all emojis
+     * Returns a set with the categories of all emojis, in the sort order of their emojis
      *
-     * @return a set with the categories of all emojis
+     * @return an unmodifiable set with the categories of all emojis
      */
     public static Set<String> categories() {
-        return EMOJI_MAP.values().stream()
-                .map(Emoji::getCategory)
-                .collect(Collectors.toSet());
+        return maps().categoryMap.keySet();
     }
 
     /**
@@ -240,6 +554,7 @@ public class EmojiData {
         emoji.setSheetY(other.getSheetY());
         emoji.setSortOrder(other.getSortOrder());
         emoji.setSkinVariationMap(other.getSkinVariationMap());
+        emoji.setId(other.getId());
         return emoji;
     }
 
@@ -309,6 +624,169 @@ public class EmojiData {
             return null;
         }
         String shortName = emoji.getShortName().split(":")[0];
-        return EMOJI_MAP.getOrDefault(shortName, emoji);
+        return maps().shortNameMap.getOrDefault(shortName, emoji);
+    }
+
+    /**
+     * The maps of emojis, that are never modified once created
+     */
+    private static final class Maps {
+
+        /**
+         * Map that stores emojis with their shortName as key.
+         */
+        private final Map<String, Emoji> shortNameMap;
+
+        /**
+         * Map that stores emojis with their unified field as key
+         */
+        private final Map<String, Emoji> unicodeMap;
+
+        /**
+         * Map that stores emojis with their UTF-16 character sequence as key, including
+         * the sequence of their non-qualified version, if any
+         */
+        private final Map<String, Emoji> characterMap = new HashMap<>();
+
+        /**
+         * Columns with the values of all emojis, that assign their ids
+         */
+        private final EmojiColumns columns;
+
+        /**
+         * All emojis, in the order of their ids
+         */
+        private final List<Emoji> emojis;
+
+        /**
+         * Index of the shortNames, for searches
+         */
+        private final EmojiSearchIndex searchIndex;
+
+        /**
+         * Sorted shortNames and aliases, for completions
+         */
+        private final EmojiPrefixIndex prefixIndex;
+
+        /**
+         * Tree of shortNames and names, for fuzzy searches, built on first use
+         */
+        private volatile EmojiFuzzyIndex fuzzyIndex;
+
+        /**
+         * The emojis of each category string, and of each subcategory, sorted
+         */
+        private final Map<String, List<Emoji>> categoryMap;
+        private final Map<String, List<Emoji>> subcategoryMap;
+
+        /**
+         * The emojis and the subcategories of each EmojiCategory, sorted
+         */
+        private final Map<EmojiCategory, List<Emoji>> emojiCategoryMap = new EnumMap<>(EmojiCategory.class);
+        private final Map<EmojiCategory, List<String>> subcategoriesMap = new EnumMap<>(EmojiCategory.class);
+
+        /**
+         * Index of all the searchable fields, for scored searches, built on first use
+         */
+        private volatile EmojiFieldIndex fieldIndex;
+
+        /**
+         * Creates the maps of emojis parsed from the csv file, building their hash tables
+         */
+        Maps(List<Emoji> emojis) {
+            this(emojis, withSkinVariations(emojis));
+        }
+
+        private Maps(List<Emoji> emojis, Emoji[] numbered) {
+            this(emojis, EmojiHashTable.build(numbered, Emoji::getShortName),
+                    EmojiHashTable.build(numbered, Emoji::getUnified));
+        }
+
+        /**
+         * Creates the maps of emojis read from the index, with its precomputed hash tables
+         */
+        Maps(List<Emoji> emojis, EmojiHashTable shortNameTable, EmojiHashTable unifiedTable) {
+            shortNameMap = shortNameTable;
+            unicodeMap = unifiedTable;
+            columns = new EmojiColumns(emojis);
+            Emoji[] all = new Emoji[columns.size()];
+            Arrays.setAll(all, columns::emoji);
+            this.emojis = Collections.unmodifiableList(Arrays.asList(all));
+            unicodeMap.values().forEach(e -> characterMap.put(e.character(), e));
+            // non-qualified sequences never collide with qualified ones, but don't override them anyway
+            unicodeMap.values().stream()
+                    .filter(e -> e.getNonQualified() != null)
+                    .forEach(e -> characterMap.putIfAbsent(Emoji.unicodeCharacter(e.getNonQualified()), e));
+            searchIndex = new EmojiSearchIndex(shortNameMap);
+            prefixIndex = new EmojiPrefixIndex(columns);
+
+            // emojis are added in the order of their ids, so every list is sorted
+            Map<String, List<Emoji>> categories = new LinkedHashMap<>();
+            Map<String, List<Emoji>> subcategories = new LinkedHashMap<>();
+            Map<EmojiCategory, List<Emoji>> emojiCategories = new EnumMap<>(EmojiCategory.class);
+            Map<EmojiCategory, Set<String>> emojiSubcategories = new EnumMap<>(EmojiCategory.class);
+            for (EmojiCategory category : EmojiCategory.values()) {
+                emojiCategories.put(category, new ArrayList<>());
+                emojiSubcategories.put(category, new LinkedHashSet<>());
+            }
+            for (Emoji e : this.emojis) {
+                categories.computeIfAbsent(e.getCategory(), c -> new ArrayList<>()).add(e);
+                subcategories.computeIfAbsent(e.getSubcategory(), c -> new ArrayList<>()).add(e);
+                int ordinal = columns.categoryOrdinal(e.getId());
+                if (ordinal != EmojiColumns.NO_CATEGORY) {
+                    EmojiCategory category = EmojiCategory.values()[ordinal];
+                    emojiCategories.get(category).add(e);
+                    emojiSubcategories.get(category).add(e.getSubcategory());
+                }
+            }
+            categories.replaceAll((c, list) -> Collections.unmodifiableList(list));
+            subcategories.replaceAll((c, list) -> Collections.unmodifiableList(list));
+            categoryMap = Collections.unmodifiableMap(categories);
+            subcategoryMap = Collections.unmodifiableMap(subcategories);
+            for (EmojiCategory category : EmojiCategory.values()) {
+                emojiCategoryMap.put(category, Collections.unmodifiableList(emojiCategories.get(category)));
+                subcategoriesMap.put(category, List.copyOf(emojiSubcategories.get(category)));
+            }
+        }
+
+        /**
+         * Returns all the emojis, each one followed by its skin variations
+         */
+        private static Emoji[] withSkinVariations(List<Emoji> emojis) {
+            List<Emoji> numbered = new ArrayList<>();
+            for (Emoji e : emojis) {
+                numbered.add(e);
+                if (e.getSkinVariationMap() != null) {
+                    numbered.addAll(e.getSkinVariationMap().values());
+                }
+            }
+            return numbered.toArray(new Emoji[0]);
+        }
+
+        EmojiFuzzyIndex fuzzyIndex() {
+            EmojiFuzzyIndex index = fuzzyIndex;
+            if (index == null) {
+                synchronized (this) {
+                    index = fuzzyIndex;
+                    if (index == null) {
+                        index = fuzzyIndex = new EmojiFuzzyIndex(columns);
+                    }
+                }
+            }
+            return index;
+        }
+
+        EmojiFieldIndex fieldIndex() {
+            EmojiFieldIndex index = fieldIndex;
+            if (index == null) {
+                synchronized (this) {
+                    index = fieldIndex;
+                    if (index == null) {
+                        index = fieldIndex = new EmojiFieldIndex(columns);
+                    }
+                }
+            }
+            return index;
+        }
     }
 }
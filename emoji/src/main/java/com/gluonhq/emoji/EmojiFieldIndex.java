@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index over the searchable fields of all emojis, except skin variations,
+ * used by {@link EmojiData#scoredSearch(String)}.
+ *
+ * The aliases, names and subcategories are split in words, and the ASCII versions are
+ * kept as they are. Each distinct term has a posting list with the ids of the emojis that
+ * contain it and the field where they contain it, packed in an int. The terms are sorted,
+ * so the terms that start with a word of a query are a contiguous range.
+ * The whole values of the ASCII versions and subcategories are also kept, with the ids of
+ * their emojis, for the filters that match those fields exactly.
+ *
+ * A query is evaluated word by word, with a few arrays indexed by emoji id that keep the
+ * emojis that matched all the words so far, and their scores.
+ */
+final class EmojiFieldIndex {
+
+    private static final int FIELD_BITS = 4;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int ALL_FIELDS = (1 << EmojiSearchField.values().length) - 1;
+    private static final EmojiSearchField[] FIELDS = EmojiSearchField.values();
+    private static final int[] NO_IDS = new int[0];
+
+    private final EmojiColumns columns;
+    private final String[] terms;
+    private final int[][] postings;
+    private final Map<String, int[]> filters;
+
+    EmojiFieldIndex(EmojiColumns columns) {
+        this.columns = columns;
+        Map<String, List<Integer>> map = new HashMap<>();
+        Map<String, List<Integer>> filterMap = new HashMap<>();
+        for (int id = 0; id < columns.size(); id++) {
+            if (columns.parentId(id) != EmojiColumns.NO_PARENT) {
+                continue;
+            }
+            Emoji emoji = columns.emoji(id);
+            for (String alias : emoji.getShortNameList() != null ? emoji.getShortNameList() : List.of(emoji.getShortName())) {
+                addWords(map, alias, id, EmojiSearchField.ALIAS);
+            }
+            addWords(map, emoji.getName(), id, EmojiSearchField.NAME);
+            if (emoji.getText() != null) {
+                add(map, emoji.getText().toLowerCase(Locale.ROOT), id, EmojiSearchField.TEXT);
+                addFilter(filterMap, emoji.getText(), id, EmojiSearchField.TEXT);
+            }
+            if (emoji.getTextList() != null) {
+                for (String text : emoji.getTextList()) {
+                    add(map, text.toLowerCase(Locale.ROOT), id, EmojiSearchField.TEXT);
+                    addFilter(filterMap, text, id, EmojiSearchField.TEXT);
+                }
+            }
+            addWords(map, emoji.getSubcategory(), id, EmojiSearchField.SUBCATEGORY);
+            addFilter(filterMap, emoji.getSubcategory(), id, EmojiSearchField.SUBCATEGORY);
+        }
+        terms = map.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        postings = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            postings[i] = map.get(terms[i]).stream().mapToInt(Integer::intValue).toArray();
+        }
+        filters = new HashMap<>();
+        filterMap.forEach((filter, ids) -> filters.put(filter, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Returns the emojis that match all the words of a query, sorted by score, and then
+     * by emoji's sort order.
+     *
+     * A word matches an emoji if it is the beginning of a word of one of its fields. Words
+     * like "field:value", where field is the key of an {@link EmojiSearchField}, are filters:
+     * they only match the given field, and don't add to the score. The text and subcategory
+     * filters match the whole value of the field, so "subcategory:face" doesn't match
+     * "face-smiling".
+     *
+     * @param query the words to search, separated by spaces, case-insensitive
+     * @return the list of emojis found, with their scores
+     */
+    List<EmojiSearchResult> search(String query) {
+        List<String> tokens = new ArrayList<>();
+        List<Integer> masks = new ArrayList<>();
+        List<Boolean> scored = new ArrayList<>();
+        for (String word : query.toLowerCase(Locale.ROOT).split(" ")) {
+            int colon = word.indexOf(':');
+            EmojiSearchField filter = colon > 0 ? EmojiSearchField.fromKey(word.substring(0, colon)) : null;
+            if (isExactFilter(filter)) {
+                // looked up in the filters, by its whole value
+                tokens.add(filterKey(filter, word.substring(colon + 1)));
+                masks.add(0);
+                scored.add(false);
+            } else if (filter != null) {
+                for (String token : words(word.substring(colon + 1))) {
+                    tokens.add(token);
+                    masks.add(1 << filter.ordinal());
+                    scored.add(false);
+                }
+            } else if (!isWord(word) && Arrays.binarySearch(terms, word) >= 0) {
+                // an ASCII emoji, like ":)" or "<3"
+                tokens.add(word);
+                masks.add(1 << EmojiSearchField.TEXT.ordinal());
+                scored.add(true);
+            } else {
+                for (String token : words(word)) {
+                    tokens.add(token);
+                    masks.add(ALL_FIELDS);
+                    scored.add(true);
+                }
+            }
+        }
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        int size = columns.size();
+        // the number of words matched by each emoji, and its score
+        int[] matched = new int[size];
+        int[] scores = new int[size];
+        // the best score of each emoji for the current word, or -1, and the emojis that have one
+        int[] best = new int[size];
+        Arrays.fill(best, -1);
+        int[] touched = new int[size];
+        int count = 0;
+        for (int k = 0; k < tokens.size(); k++) {
+            String token = tokens.get(k);
+            int mask = masks.get(k);
+            boolean text = mask == 1 << EmojiSearchField.TEXT.ordinal();
+            int from = 0;
+            int to = 0;
+            count = 0;
+            if (mask == 0) {
+                for (int id : filters.getOrDefault(token, NO_IDS)) {
+                    if (matched[id] == k) {
+                        touched[count++] = id;
+                        best[id] = 0;
+                    }
+                }
+            } else {
+                from = lowerBound(token);
+                to = text ? (from < terms.length && terms[from].equals(token) ? from + 1 : from) :
+                        lowerBound(token + Character.MAX_VALUE);
+            }
+            for (int t = from; t < to; t++) {
+                boolean exact = terms[t].length() == token.length();
+                for (int posting : postings[t]) {
+                    int id = posting >>> FIELD_BITS;
+                    int field = posting & FIELD_MASK;
+                    if ((mask & (1 << field)) == 0 || matched[id] != k) {
+                        continue;
+                    }
+                    int score = scored.get(k) ? FIELDS[field].getWeight() * (exact ? 2 : 1) : 0;
+                    if (best[id] < 0) {
+                        touched[count++] = id;
+                    }
+                    best[id] = Math.max(best[id], score);
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                int id = touched[i];
+                matched[id]++;
+                scores[id] += best[id];
+                best[id] = -1;
+            }
+            if (count == 0) {
+                return List.of();
+            }
+        }
+
+        // the emojis that matched the last word matched all of them
+        long[] results = new long[count];
+        for (int i = 0; i < count; i++) {
+            int id = touched[i];
+            results[i] = ((long) (Integer.MAX_VALUE - scores[id]) << 32) | id;
+        }
+        Arrays.sort(results);
+        EmojiSearchResult[] list = new EmojiSearchResult[count];
+        for (int i = 0; i < count; i++) {
+            int id = (int) results[i];
+            list[i] = new EmojiSearchResult(columns.emoji(id), scores[id]);
+        }
+        return List.of(list);
+    }
+
+    /**
+     * @return the number of distinct terms
+     */
+    int size() {
+        return terms.length;
+    }
+
+    private int lowerBound(String value) {
+        int index = Arrays.binarySearch(terms, value);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static void addWords(Map<String, List<Integer>> map, String value, int id, EmojiSearchField field) {
+        if (value != null) {
+            for (String word : words(value)) {
+                add(map, word, id, field);
+            }
+        }
+    }
+
+    private static void addFilter(Map<String, List<Integer>> map, String value, int id, EmojiSearchField field) {
+        if (value != null) {
+            List<Integer> ids = map.computeIfAbsent(filterKey(field, value), f -> new ArrayList<>());
+            if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+                ids.add(id);
+            }
+        }
+    }
+
+    private static String filterKey(EmojiSearchField field, String value) {
+        return field.getKey() + ":" + value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The fields with a single value, or a list of values that are not made of words,
+     * which are filtered by their whole value
+     */
+    private static boolean isExactFilter(EmojiSearchField field) {
+        return field == EmojiSearchField.TEXT || field == EmojiSearchField.SUBCATEGORY;
+    }
+
+    private static void add(Map<String, List<Integer>> map, String term, int id, EmojiSearchField field) {
+        List<Integer> list = map.computeIfAbsent(term, t -> new ArrayList<>());
+        int posting = (id << FIELD_BITS) | field.ordinal();
+        // ids are added in order, so a repeated posting can only be among the last ones
+        for (int i = list.size() - 1; i >= 0 && list.get(i) >>> FIELD_BITS == id; i--) {
+            if (list.get(i) == posting) {
+                return;
+            }
+        }
+        list.add(posting);
+    }
+
+    private static boolean isWord(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a text in lower case words, made of letters and digits
+     */
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean letter = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
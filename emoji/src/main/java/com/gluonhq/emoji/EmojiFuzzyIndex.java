@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BK-tree over the shortNames, aliases and official names of all emojis, except skin
+ * variations, used by {@link EmojiData#fuzzySearch(String, int)}.
+ *
+ * Each node of the tree is a distinct term, and its children are indexed by their
+ * Levenshtein distance to it. By the triangle inequality, a search for the terms within
+ * a distance k of a query only has to visit the children of a node at distance d whose
+ * edge is between d - k and d + k, so most of the tree is skipped for small distances.
+ *
+ * Nodes are kept in primitive arrays, with the children of each node as a linked list.
+ */
+final class EmojiFuzzyIndex {
+
+    /** The maximum edit distance supported */
+    static final int MAX_DISTANCE = 3;
+
+    private static final int NONE = -1;
+    private static final int DISTANCE_SHIFT = 16;
+
+    private final EmojiColumns columns;
+    private final String[] terms;
+    // the ids of the emojis of each term, most terms have just one
+    private final int[][] emojiIds;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edge;
+    private final int maxTermLength;
+
+    EmojiFuzzyIndex(EmojiColumns columns) {
+        this.columns = columns;
+        Map<String, List<Integer>> termIds = new HashMap<>();
+        List<String> order = new ArrayList<>();
+        for (int id = 0; id < columns.size(); id++) {
+            if (columns.parentId(id) != EmojiColumns.NO_PARENT) {
+                continue;
+            }
+            Emoji emoji = columns.emoji(id);
+            List<String> names = new ArrayList<>();
+            if (emoji.getShortNameList() != null) {
+                names.addAll(emoji.getShortNameList());
+            }
+            names.add(emoji.getShortName());
+            names.add(emoji.getName());
+            for (String name : names) {
+                if (name == null) {
+                    continue;
+                }
+                List<Integer> ids = termIds.computeIfAbsent(name.toLowerCase(Locale.ROOT), t -> {
+                    order.add(t);
+                    return new ArrayList<>(1);
+                });
+                if (!ids.contains(id)) {
+                    ids.add(id);
+                }
+            }
+        }
+
+        int size = order.size();
+        terms = order.toArray(new String[0]);
+        emojiIds = new int[size][];
+        firstChild = new int[size];
+        nextSibling = new int[size];
+        edge = new int[size];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+        int maxLength = 0;
+        for (String term : terms) {
+            maxLength = Math.max(maxLength, term.length());
+        }
+        maxTermLength = maxLength;
+        int[][] rows = new int[2][maxTermLength + 1];
+        for (int node = 0; node < size; node++) {
+            emojiIds[node] = termIds.get(terms[node]).stream().mapToInt(Integer::intValue).toArray();
+            if (node > 0) {
+                insert(node, rows);
+            }
+        }
+    }
+
+    /**
+     * Returns the emojis with a term within a maximum edit distance of a text, sorted by
+     * the smallest distance of their terms, and then by emoji's sort order
+     *
+     * @param text the text, case-insensitive
+     * @param maxDistance the maximum edit distance, from 0 to {@link #MAX_DISTANCE}
+     * @return the list of emojis found, without duplicates
+     */
+    List<Emoji> search(String text, int maxDistance) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException("Invalid distance: " + maxDistance);
+        }
+        String query = text.toLowerCase(Locale.ROOT);
+        if (terms.length == 0 || query.length() > maxTermLength + maxDistance) {
+            return List.of();
+        }
+        int[][] rows = new int[2][query.length() + 1];
+        // the best distance of each emoji found, by id
+        Map<Integer, Integer> found = new HashMap<>();
+        int[] stack = new int[terms.length];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int distance = distance(query, terms[node], rows);
+            if (distance <= maxDistance) {
+                for (int id : emojiIds[node]) {
+                    found.merge(id, distance, Math::min);
+                }
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (Math.abs(edge[child] - distance) <= maxDistance) {
+                    stack[top++] = child;
+                }
+            }
+        }
+
+        // sort by distance and id, which follows the sort order
+        long[] matches = new long[found.size()];
+        int size = 0;
+        for (Map.Entry<Integer, Integer> entry : found.entrySet()) {
+            matches[size++] = ((long) entry.getValue() << DISTANCE_SHIFT) | entry.getKey();
+        }
+        Arrays.sort(matches);
+        Emoji[] result = new Emoji[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = columns.emoji((int) (matches[i] & ((1 << DISTANCE_SHIFT) - 1)));
+        }
+        return List.of(result);
+    }
+
+    /**
+     * @return the number of distinct terms of the tree
+     */
+    int size() {
+        return terms.length;
+    }
+
+    private void insert(int node, int[][] rows) {
+        int parent = 0;
+        while (true) {
+            int distance = distance(terms[node], terms[parent], rows);
+            int child = firstChild[parent];
+            while (child != NONE && edge[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child == NONE) {
+                edge[node] = distance;
+                nextSibling[node] = firstChild[parent];
+                firstChild[parent] = node;
+                return;
+            }
+            parent = child;
+        }
+    }
+
+    /**
+     * Levenshtein distance between two strings, using two rows of at least
+     * {@code a.length() + 1} elements
+     */
+    private static int distance(String a, String b, int[][] rows) {
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        for (int i = 0; i <= a.length(); i++) {
+            previous[i] = i;
+        }
+        for (int j = 1; j <= b.length(); j++) {
+            current[0] = j;
+            char c = b.charAt(j - 1);
+            for (int i = 1; i <= a.length(); i++) {
+                int cost = a.charAt(i - 1) == c ? 0 : 1;
+                current[i] = Math.min(Math.min(current[i - 1], previous[i]) + 1, previous[i - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[a.length()];
+    }
+}
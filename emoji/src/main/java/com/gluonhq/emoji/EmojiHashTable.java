@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-only map of emojis by one of their string fields, like the shortName or the
+ * unified value, backed by an open addressing hash table.
+ *
+ * The table is an array of slots with the number of an emoji plus one, or 0 if the slot
+ * is empty, so it can be precomputed by the emoji-updater module and read from the
+ * binary index as is. A key is looked up from the slot {@code (h ^ (h >>> 16)) & (capacity - 1)},
+ * where {@code h} is the {@link String#hashCode()} of the key, and the next slots, until
+ * an empty one. The capacity is a power of two.
+ */
+final class EmojiHashTable extends AbstractMap<String, Emoji> {
+
+    private static final int MAX_EMOJIS = 0xFFFE;
+
+    private final Emoji[] emojis;
+    private final int[] slots;
+    private final Function<Emoji, String> key;
+    private final int size;
+    private final Set<Entry<String, Emoji>> entrySet = new EntrySet();
+
+    /**
+     * @param emojis the emojis, by their number
+     * @param slots the slots of the table
+     * @param key the field of the emojis used as key
+     * @throws IllegalArgumentException if the capacity is not a power of two, a slot
+     * doesn't refer to an emoji, or there are no empty slots, which lookups need to stop
+     */
+    EmojiHashTable(Emoji[] emojis, int[] slots, Function<Emoji, String> key) {
+        if (Integer.bitCount(slots.length) != 1) {
+            throw new IllegalArgumentException("Invalid capacity: " + slots.length);
+        }
+        int count = 0;
+        for (int slot : slots) {
+            if (slot < 0 || slot > emojis.length) {
+                throw new IllegalArgumentException("Invalid emoji number: " + slot);
+            }
+            if (slot > 0) {
+                count++;
+            }
+        }
+        if (count == slots.length) {
+            throw new IllegalArgumentException("No empty slots in a table of capacity " + slots.length);
+        }
+        this.emojis = emojis;
+        this.slots = slots;
+        this.key = key;
+        this.size = count;
+    }
+
+    /**
+     * Builds the table of the given emojis. If two emojis have the same key, the last
+     * one is kept, like with {@link java.util.HashMap#put(Object, Object)}.
+     *
+     * @param emojis the emojis, by their number
+     * @param key the field of the emojis used as key
+     * @return the table
+     */
+    static EmojiHashTable build(Emoji[] emojis, Function<Emoji, String> key) {
+        if (emojis.length > MAX_EMOJIS) {
+            throw new IllegalArgumentException("Too many emojis: " + emojis.length);
+        }
+        int[] slots = new int[capacity(emojis.length)];
+        int mask = slots.length - 1;
+        for (int i = 0; i < emojis.length; i++) {
+            String value = key.apply(emojis[i]);
+            int slot = slot(value, mask);
+            while (slots[slot] != 0 && !key.apply(emojis[slots[slot] - 1]).equals(value)) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+        return new EmojiHashTable(emojis, slots, key);
+    }
+
+    /**
+     * @return the smallest power of two that is at least twice the number of emojis
+     */
+    static int capacity(int count) {
+        return Integer.highestOneBit(Math.max(1, count * 2 - 1)) << 1;
+    }
+
+    private static int slot(String key, int mask) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @Override
+    public Emoji get(Object o) {
+        if (!(o instanceof String)) {
+            return null;
+        }
+        int mask = slots.length - 1;
+        for (int slot = slot((String) o, mask); slots[slot] != 0; slot = (slot + 1) & mask) {
+            Emoji emoji = emojis[slots[slot] - 1];
+            if (key.apply(emoji).equals(o)) {
+                return emoji;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object o) {
+        return get(o) != null;
+    }
+
+    @Override
+    public Emoji getOrDefault(Object o, Emoji defaultValue) {
+        Emoji emoji = get(o);
+        return emoji != null ? emoji : defaultValue;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Emoji>> entrySet() {
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Emoji>> {
+
+        @Override
+        public Iterator<Entry<String, Emoji>> iterator() {
+            return new Iterator<>() {
+                private int next = advance(0);
+
+                private int advance(int slot) {
+                    while (slot < slots.length && slots[slot] == 0) {
+                        slot++;
+                    }
+                    return slot;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next < slots.length;
+                }
+
+                @Override
+                public Entry<String, Emoji> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Emoji emoji = emojis[slots[next] - 1];
+                    next = advance(next + 1);
+                    return new SimpleImmutableEntry<>(key.apply(emoji), emoji);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the binary index of emojis generated by the emoji-updater module from
+ * the csv file, so emojis can be created without parsing text.
+ *
+ * The index uses big endian values, and has this layout:
+ * <pre>
+ * int    magic ("EMJI")
+ * int    version
+ * int    number of strings, followed by each string: u2 length, UTF-8 bytes
+ * int    number of emojis, followed by each emoji:
+ *        u2 name, unified, nonQualified, docomo, au, softbank, google, image
+ *        u2 sheetX, sheetY
+ *        u2 shortName, u1 size of shortNameList, u2 each short name
+ *        u2 text, u1 size of textList, u2 each text
+ *        u2 category, subcategory
+ *        int sortOrder
+ *        u2 addedIn
+ *        u1 image flags: apple, google, twitter, facebook
+ *        u1 number of skin variations, followed by each one:
+ *           u2 tone, unified, nonQualified, image
+ *           u2 sheetX, sheetY
+ *           u2 addedIn
+ *           u1 image flags
+ *           u2 obsoletes, obsoletedBy
+ *        u2 obsoletes, obsoletedBy
+ * int    capacity of the hash tables, a power of two
+ * u2     each slot of the table of shortNames
+ * u2     each slot of the table of unified values
+ * </pre>
+ * Strings are stored once, and referenced by their index in the table of strings.
+ * Empty fields are stored as empty strings, like in the csv file.
+ *
+ * Emojis are numbered in the order they are stored, each one followed by its skin
+ * variations. The hash tables map the shortName and the unified value of every emoji,
+ * skin variations included, to its number, as described in {@link EmojiHashTable}.
+ */
+final class EmojiIndex {
+
+    static final int MAGIC = 0x454D4A49;
+    static final int VERSION = 2;
+
+    private static final int IMG_APPLE = 1;
+    private static final int IMG_GOOGLE = 1 << 1;
+    private static final int IMG_TWITTER = 1 << 2;
+    private static final int IMG_FACEBOOK = 1 << 3;
+
+    private final ByteBuffer buffer;
+    private String[] strings;
+    private final List<Emoji> numbered = new ArrayList<>();
+    private List<Emoji> emojis;
+    private EmojiHashTable shortNameTable;
+    private EmojiHashTable unifiedTable;
+
+    private EmojiIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads the emojis and the hash tables of an index
+     *
+     * @param buffer the bytes of the index
+     * @return the index that was read
+     * @throws IOException if the index is not valid
+     */
+    static EmojiIndex read(ByteBuffer buffer) throws IOException {
+        try {
+            EmojiIndex index = new EmojiIndex(buffer);
+            index.read();
+            return index;
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid emoji index: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Like with the csv file, skin variations are not in the list, but in the skin
+     * variation map of each emoji.
+     *
+     * @return the list of emojis, in the same order as in the csv file
+     */
+    List<Emoji> emojis() {
+        return emojis;
+    }
+
+    /**
+     * @return the emojis by their shortName, skin variations included
+     */
+    EmojiHashTable shortNameTable() {
+        return shortNameTable;
+    }
+
+    /**
+     * @return the emojis by their unified value, skin variations included
+     */
+    EmojiHashTable unifiedTable() {
+        return unifiedTable;
+    }
+
+    private void read() throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Invalid emoji index: wrong magic number");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Invalid emoji index: unsupported version " + version);
+        }
+        strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readUTF8(Short.toUnsignedInt(buffer.getShort()));
+        }
+        int count = buffer.getInt();
+        emojis = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emojis.add(readEmoji());
+        }
+        Emoji[] all = numbered.toArray(new Emoji[0]);
+        int capacity = buffer.getInt();
+        shortNameTable = new EmojiHashTable(all, slots(capacity), Emoji::getShortName);
+        unifiedTable = new EmojiHashTable(all, slots(capacity), Emoji::getUnified);
+    }
+
+    private int[] slots(int capacity) throws IOException {
+        if (capacity < 0 || capacity > buffer.remaining() / Short.BYTES) {
+            throw new IOException("Invalid emoji index: wrong capacity " + capacity);
+        }
+        int[] slots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = Short.toUnsignedInt(buffer.getShort());
+        }
+        return slots;
+    }
+
+    private Emoji readEmoji() {
+        Emoji emoji = new Emoji();
+        emoji.setName(string());
+        emoji.setUnified(string());
+        emoji.setNonQualified(nullableString());
+        emoji.setDocomo(nullableString());
+        emoji.setAu(nullableString());
+        emoji.setSoftbank(nullableString());
+        emoji.setGoogle(nullableString());
+        emoji.setImage(string());
+        emoji.setSheetX(buffer.getShort());
+        emoji.setSheetY(buffer.getShort());
+        emoji.setShortName(string());
+        emoji.setShortNameList(list());
+        emoji.setText(nullableString());
+        emoji.setTextList(list());
+        emoji.setCategory(string());
+        emoji.setSubcategory(string());
+        emoji.setSortOrder(buffer.getInt());
+        emoji.setAddedIn(string());
+        setImageFlags(emoji, buffer.get());
+        numbered.add(emoji);
+        int skinVariations = Byte.toUnsignedInt(buffer.get());
+        for (int i = 0; i < skinVariations; i++) {
+            Emoji skinEmoji = Emoji.createSkinVariation(emoji, string());
+            skinEmoji.setUnified(string());
+            skinEmoji.setNonQualified(nullableString());
+            skinEmoji.setImage(string());
+            skinEmoji.setSheetX(buffer.getShort());
+            skinEmoji.setSheetY(buffer.getShort());
+            skinEmoji.setAddedIn(string());
+            setImageFlags(skinEmoji, buffer.get());
+            skinEmoji.setObsoletes(nullableString());
+            skinEmoji.setObsoletedBy(nullableString());
+            numbered.add(skinEmoji);
+        }
+        emoji.setObsoletes(nullableString());
+        emoji.setObsoletedBy(nullableString());
+        return emoji;
+    }
+
+    private String string() {
+        return strings[Short.toUnsignedInt(buffer.getShort())];
+    }
+
+    private String nullableString() {
+        return Emoji.getNullableField(string());
+    }
+
+    private List<String> list() {
+        int size = Byte.toUnsignedInt(buffer.get());
+        if (size == 0) {
+            return null;
+        }
+        String[] items = new String[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = string();
+        }
+        return List.of(items);
+    }
+
+    private String readUTF8(int length) {
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void setImageFlags(Emoji emoji, int flags) {
+        emoji.setHasImgApple((flags & IMG_APPLE) != 0);
+        emoji.setHasImgGoogle((flags & IMG_GOOGLE) != 0);
+        emoji.setHasImgTwitter((flags & IMG_TWITTER) != 0);
+        emoji.setHasImgFacebook((flags & IMG_FACEBOOK) != 0);
+    }
+}
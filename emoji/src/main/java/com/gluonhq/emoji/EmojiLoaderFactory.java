@@ -37,7 +37,7 @@ public class EmojiLoaderFactory {
     private static final String ONLINE_LOADER_CLASS = "com.gluonhq.emoji.DownloadableEmojiSpriteLoader";
 
     private static EmojiSpriteLoader emojiSpriteLoader;
-    public static EmojiSpriteLoader getEmojiImageLoader() {
+    public static synchronized EmojiSpriteLoader getEmojiImageLoader() {
         if (emojiSpriteLoader == null) {
             if (isClassAvailable(OFFLINE_LOADER_CLASS)) {
                 LOG.fine("Loading " + OFFLINE_LOADER_CLASS);
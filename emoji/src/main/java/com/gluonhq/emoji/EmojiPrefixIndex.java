@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Sorted array of the shortNames and aliases of all emojis, except skin variations,
+ * used by {@link EmojiData#complete(String, int)}.
+ *
+ * The shortNames that start with a prefix are a contiguous range of the array, that is
+ * found with two binary searches. The top emojis of the range are selected with a bounded
+ * heap of emoji ids, which follow the sort order, so the range is never copied nor sorted.
+ * The ids in the heap are also kept in a bit set, to skip the aliases of the same emoji.
+ */
+final class EmojiPrefixIndex {
+
+    // greater than any char of a shortName
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    private final String[] keys;
+    private final int[] ids;
+    private final EmojiColumns columns;
+
+    EmojiPrefixIndex(EmojiColumns columns) {
+        this.columns = columns;
+        List<String> names = new ArrayList<>();
+        List<Integer> emojiIds = new ArrayList<>();
+        for (int id = 0; id < columns.size(); id++) {
+            if (columns.parentId(id) != EmojiColumns.NO_PARENT) {
+                continue;
+            }
+            Emoji emoji = columns.emoji(id);
+            for (String name : emoji.getShortNameList() != null ? emoji.getShortNameList() : List.of(emoji.getShortName())) {
+                names.add(name.toLowerCase(Locale.ROOT));
+                emojiIds.add(id);
+            }
+        }
+        Integer[] order = new Integer[names.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(names::get));
+        keys = new String[order.length];
+        ids = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = names.get(order[i]);
+            ids[i] = emojiIds.get(order[i]);
+        }
+    }
+
+    /**
+     * Returns the first emojis, in sort order, with a shortName or alias that starts with a prefix
+     *
+     * @param prefix the prefix, case-insensitive
+     * @param limit the maximum number of emojis returned
+     * @param previous the completion of a shorter prefix of the given one, or null
+     * @return the completion of the prefix
+     */
+    EmojiCompletion complete(String prefix, int limit, EmojiCompletion previous) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid limit: " + limit);
+        }
+        String lowerCasePrefix = prefix.toLowerCase(Locale.ROOT);
+        int from = 0;
+        int to = keys.length;
+        if (previous != null && lowerCasePrefix.startsWith(previous.getPrefix())) {
+            from = previous.from();
+            to = previous.to();
+        }
+        int start = lowerBound(lowerCasePrefix, from, to);
+        int end = lowerBound(lowerCasePrefix + MAX_CHAR, start, to);
+
+        // max-heap with the smallest ids found so far
+        int capacity = Math.min(limit, end - start);
+        int[] heap = new int[capacity];
+        BitSet inHeap = new BitSet(columns.size());
+        int size = 0;
+        for (int i = start; i < end && capacity > 0; i++) {
+            int id = ids[i];
+            if (size == capacity && id >= heap[0] || inHeap.get(id)) {
+                continue;
+            }
+            inHeap.set(id);
+            if (size < capacity) {
+                heap[size] = id;
+                siftUp(heap, size++);
+            } else {
+                inHeap.clear(heap[0]);
+                heap[0] = id;
+                siftDown(heap, size);
+            }
+        }
+        int[] top = Arrays.copyOf(heap, size);
+        Arrays.sort(top);
+        Emoji[] emojis = new Emoji[size];
+        for (int i = 0; i < size; i++) {
+            emojis[i] = columns.emoji(top[i]);
+        }
+        return new EmojiCompletion(lowerCasePrefix, start, end, List.of(emojis));
+    }
+
+    /**
+     * @return the index of the first key in the range that is not less than the value
+     */
+    private int lowerBound(String value, int from, int to) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void siftUp(int[] heap, int index) {
+        int value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] >= value) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private static void siftDown(int[] heap, int size) {
+        int value = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[child] <= value) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+}
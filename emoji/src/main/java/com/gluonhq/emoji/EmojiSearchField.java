@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+/**
+ * The fields of an emoji that are searched by {@link EmojiData#scoredSearch(String)},
+ * with the weight of a match in each one.
+ */
+public enum EmojiSearchField {
+
+    /** The shortName and its aliases, like "joy" */
+    ALIAS("alias", 4),
+    /** The official Unicode name, like "FACE WITH TEARS OF JOY" */
+    NAME("name", 3),
+    /** The ASCII versions, like ":)" */
+    TEXT("text", 4),
+    /** The subcategory, like "face-smiling" */
+    SUBCATEGORY("subcategory", 1);
+
+    private final String key;
+    private final int weight;
+
+    EmojiSearchField(String key, int weight) {
+        this.key = key;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the key used in queries to filter by this field, like "subcategory" in
+     * "subcategory:animal-mammal"
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the weight of a match in this field, relative to the rest of fields
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    static EmojiSearchField fromKey(String key) {
+        for (EmojiSearchField field : values()) {
+            if (field.key.equals(key)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trigram inverted index over the shortNames of all emojis, used by
+ * {@link EmojiData#search(String)}.
+ *
+ * The shortNames are sorted by the sort order of their emojis, and each one is identified
+ * by its position. Every trigram of every shortName has a posting list with the sorted
+ * positions of the shortNames that contain it. The candidates for a word are found by
+ * intersecting the posting lists of its trigrams, and then verified, since having all the
+ * trigrams of a word doesn't mean that the word is contained. Words shorter than a
+ * trigram are checked against all the shortNames.
+ *
+ * The index is built once, when the emojis are loaded, and is read-only afterwards.
+ */
+final class EmojiSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int NO_MATCH = -1;
+
+    /** Ranks of a match, from best to worst */
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int SUBSTRING = 2;
+    private static final int RANK_SHIFT = 32;
+    private static final long NUMBER_MASK = 0xFFFF;
+
+    // the shortNames in lower case
+    private final String[] keys;
+    private final Emoji[] emojis;
+    // the trigrams, packed in a long and sorted, and the posting list of each one
+    private final long[] grams;
+    private final int[][] postings;
+
+    /**
+     * @param shortNameMap map with the emojis by their shortName
+     */
+    EmojiSearchIndex(Map<String, Emoji> shortNameMap) {
+        List<Map.Entry<String, Emoji>> entries = new ArrayList<>(shortNameMap.entrySet());
+        entries.sort(Comparator.<Map.Entry<String, Emoji>>comparingInt(e -> e.getValue().getSortOrder())
+                .thenComparing(Map.Entry::getKey));
+        keys = new String[entries.size()];
+        emojis = new Emoji[entries.size()];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).getKey().toLowerCase(Locale.ROOT);
+            emojis[i] = entries.get(i).getValue();
+            count += Math.max(0, keys[i].length() - GRAM_LENGTH + 1);
+        }
+
+        // give each distinct trigram a number, and count the shortNames that contain it
+        GramTable table = new GramTable(count);
+        int[] counts = new int[count];
+        int[] last = new int[count];
+        Arrays.fill(last, -1);
+        for (int i = 0; i < keys.length; i++) {
+            for (int j = 0; j + GRAM_LENGTH <= keys[i].length(); j++) {
+                int number = table.number(gram(keys[i], j));
+                if (last[number] != i) {
+                    last[number] = i;
+                    counts[number]++;
+                }
+            }
+        }
+        int[][] lists = new int[table.size][];
+        for (int n = 0; n < table.size; n++) {
+            lists[n] = new int[counts[n]];
+            counts[n] = 0;
+        }
+        Arrays.fill(last, -1);
+        for (int i = 0; i < keys.length; i++) {
+            for (int j = 0; j + GRAM_LENGTH <= keys[i].length(); j++) {
+                int number = table.number(gram(keys[i], j));
+                if (last[number] != i) {
+                    last[number] = i;
+                    lists[number][counts[number]++] = i;
+                }
+            }
+        }
+
+        // sort the trigrams, along with their numbers in the lower bits
+        long[] sorted = new long[table.size];
+        for (int n = 0; n < table.size; n++) {
+            sorted[n] = table.grams[n] | n;
+        }
+        Arrays.sort(sorted);
+        grams = new long[sorted.length];
+        postings = new int[sorted.length][];
+        for (int i = 0; i < sorted.length; i++) {
+            grams[i] = sorted[i] & ~NUMBER_MASK;
+            postings[i] = lists[(int) (sorted[i] & NUMBER_MASK)];
+        }
+    }
+
+    /**
+     * Returns the emojis with a shortName that contains all the words of a text,
+     * ranked first by how the shortName matches the words: the shortName is one of
+     * the words, starts with one of the words, or just contains them; and then by the
+     * sort order of the emojis.
+     *
+     * @param text one or more words separated by spaces, the search is case-insensitive
+     * @return a new mutable list of the emojis found, without duplicates
+     */
+    List<Emoji> search(String text) {
+        String[] words = Arrays.stream(text.toLowerCase(Locale.ROOT).split(" "))
+                .filter(w -> !w.isEmpty())
+                .toArray(String[]::new);
+
+        // candidates, or null if every shortName is a candidate
+        int[] candidates = null;
+        for (String word : words) {
+            for (int j = 0; j + GRAM_LENGTH <= word.length(); j++) {
+                int index = Arrays.binarySearch(grams, gram(word, j));
+                if (index < 0) {
+                    return new ArrayList<>();
+                }
+                candidates = candidates == null ? postings[index] : intersect(candidates, postings[index]);
+                if (candidates.length == 0) {
+                    return new ArrayList<>();
+                }
+            }
+        }
+
+        int count = candidates == null ? keys.length : candidates.length;
+        long[] matches = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int position = candidates == null ? i : candidates[i];
+            int rank = rank(keys[position], words);
+            if (rank != NO_MATCH) {
+                // positions follow the sort order, so sorting by rank and position is enough
+                matches[size++] = ((long) rank << RANK_SHIFT) | position;
+            }
+        }
+        Arrays.sort(matches, 0, size);
+        List<Emoji> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(emojis[(int) matches[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the best rank of the words in the key, or {@link #NO_MATCH} if
+     * the key doesn't contain all of them
+     */
+    private static int rank(String key, String[] words) {
+        int rank = SUBSTRING;
+        for (String word : words) {
+            if (key.equals(word)) {
+                rank = EXACT;
+            } else if (key.startsWith(word)) {
+                rank = Math.min(rank, PREFIX);
+            } else if (!key.contains(word)) {
+                return NO_MATCH;
+            }
+        }
+        return rank;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Packs the trigram at a given index in the upper bits of a long, leaving the lower
+     * 16 bits for its number
+     */
+    private static long gram(String s, int index) {
+        return ((long) s.charAt(index) << 48) | ((long) s.charAt(index + 1) << 32) | ((long) s.charAt(index + 2) << 16);
+    }
+
+    /**
+     * Open addressing hash table that numbers the distinct trigrams, in order of appearance,
+     * without boxing them
+     */
+    private static final class GramTable {
+
+        private final long[] slots;
+        private final int[] numbers;
+        private final long[] grams;
+        private int size;
+
+        GramTable(int maxSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, maxSize) * 2 - 1) * 2;
+            slots = new long[capacity];
+            numbers = new int[capacity];
+            grams = new long[maxSize];
+        }
+
+        int number(long gram) {
+            int mask = slots.length - 1;
+            int slot = Long.hashCode(gram * 0x9E3779B97F4A7C15L) & mask;
+            // grams are never 0, since they have three chars
+            while (slots[slot] != 0) {
+                if (slots[slot] == gram) {
+                    return numbers[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size > NUMBER_MASK) {
+                throw new IllegalStateException("Too many trigrams");
+            }
+            slots[slot] = gram;
+            numbers[slot] = size;
+            grams[size] = gram;
+            return size++;
+        }
+    }
+}
@@ -14,4 +14,26 @@ public interface EmojiSpriteLoader {
     Image loadEmojiSprite(int size);
 
     InputStream loadCSV();
+
+    /**
+     * Returns the binary index of emojis, generated by the emoji-updater module, that
+     * is read faster than the csv file, and has to match the csv file returned by
+     * {@link #loadCSV()}. By default, there is no index, so the csv file is used.
+     *
+     * @return the stream of the index, or null if not available, so the csv file is used instead
+     */
+    default InputStream loadIndex() {
+        return null;
+    }
+
+    /**
+     * Returns the binary index of the emoji module, that matches the emoji.csv file of the
+     * emoji module. Loaders that use that same csv file can return it from {@link #loadIndex()},
+     * so they don't need to ship their own copy.
+     *
+     * @return the stream of the index of the emoji module
+     */
+    static InputStream loadBundledIndex() {
+        return EmojiSpriteLoader.class.getResourceAsStream("emoji.idx");
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import com.gluonhq.emoji.Emoji;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Scans UTF-8 encoded bytes for emojis, without decoding them into a string first.
+ * It works with any {@link ByteBuffer}, including a {@link java.nio.MappedByteBuffer}
+ * over a file, using absolute reads, so the buffer is never copied nor modified.
+ *
+ * Malformed UTF-8 sequences are skipped, and never match an emoji.
+ */
+public final class EmojiByteScanner {
+
+    /**
+     * Receives the emojis found by an {@link EmojiByteScanner}
+     */
+    public interface Listener {
+
+        /**
+         * Called with an emoji
+         *
+         * @param emoji the emoji found
+         * @param start the offset, inclusive, of the first byte of the emoji
+         * @param end the offset, exclusive, of the last byte of the emoji
+         */
+        void onEmoji(Emoji emoji, int start, int end);
+    }
+
+    // a decoded codepoint is returned along with its length in bytes in the upper bits
+    private static final int LENGTH_SHIFT = 24;
+    private static final int CODEPOINT_MASK = (1 << LENGTH_SHIFT) - 1;
+    private static final int MALFORMED = (1 << LENGTH_SHIFT) | CODEPOINT_MASK;
+
+    private EmojiByteScanner() {
+    }
+
+    /**
+     * Scans a slice of a byte array
+     *
+     * @param bytes the UTF-8 encoded bytes
+     * @param offset the offset of the first byte to scan
+     * @param length the number of bytes to scan
+     * @param listener the listener that is notified of the emojis found, with offsets into the array
+     */
+    public static void scan(byte[] bytes, int offset, int length, Listener listener) {
+        scan(ByteBuffer.wrap(bytes, offset, length), listener);
+    }
+
+    /**
+     * Scans the bytes of a buffer between its position and its limit. The position
+     * of the buffer is not modified.
+     *
+     * @param buffer the UTF-8 encoded bytes
+     * @param listener the listener that is notified of the emojis found, with absolute offsets into the buffer
+     */
+    public static void scan(ByteBuffer buffer, Listener listener) {
+        final EmojiTrie trie = EmojiTrie.getInstance();
+        final EmojiCodePoints properties = trie.properties();
+        final int limit = buffer.limit();
+        int i = buffer.position();
+        while (i < limit) {
+            int first = decode(buffer, i, limit);
+            if (first == MALFORMED || !properties.is(first & CODEPOINT_MASK, EmojiCodePoints.START)) {
+                i += first >>> LENGTH_SHIFT;
+                continue;
+            }
+            int match = -1;
+            int matchEnd = i;
+            int node = EmojiTrie.ROOT;
+            int j = i;
+            while (j < limit) {
+                int decoded = j == i ? first : decode(buffer, j, limit);
+                if (decoded == MALFORMED) {
+                    break;
+                }
+                node = trie.next(node, decoded & CODEPOINT_MASK);
+                if (node == EmojiTrie.NO_NODE) {
+                    break;
+                }
+                j += decoded >>> LENGTH_SHIFT;
+                if (trie.emojiId(node) >= 0) {
+                    match = trie.emojiId(node);
+                    matchEnd = j;
+                }
+            }
+            if (match >= 0) {
+                listener.onEmoji(trie.emojiForId(match), i, matchEnd);
+                i = matchEnd;
+            } else {
+                i += first >>> LENGTH_SHIFT;
+            }
+        }
+    }
+
+    /**
+     * Counts the emojis in the bytes of a buffer between its position and its limit
+     *
+     * @param buffer the UTF-8 encoded bytes
+     * @return the number of emojis found
+     */
+    public static long count(ByteBuffer buffer) {
+        long[] count = new long[1];
+        scan(buffer, (emoji, start, end) -> count[0]++);
+        return count[0];
+    }
+
+    private static int decode(ByteBuffer buffer, int index, int limit) {
+        int b0 = buffer.get(index) & 0xFF;
+        if (b0 < 0x80) {
+            return (1 << LENGTH_SHIFT) | b0;
+        }
+        int length;
+        int cp;
+        int min;
+        if ((b0 & 0xE0) == 0xC0) {
+            length = 2;
+            cp = b0 & 0x1F;
+            min = 0x80;
+        } else if ((b0 & 0xF0) == 0xE0) {
+            length = 3;
+            cp = b0 & 0x0F;
+            min = 0x800;
+        } else if ((b0 & 0xF8) == 0xF0) {
+            length = 4;
+            cp = b0 & 0x07;
+            min = 0x10000;
+        } else {
+            return MALFORMED;
+        }
+        if (index + length > limit) {
+            return MALFORMED;
+        }
+        for (int k = 1; k < length; k++) {
+            int b = buffer.get(index + k) & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                return MALFORMED;
+            }
+            cp = (cp << 6) | (b & 0x3F);
+        }
+        if (cp < min || cp > Character.MAX_CODE_POINT || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)) {
+            // overlong, out of range or surrogate
+            return MALFORMED;
+        }
+        return (length << LENGTH_SHIFT) | cp;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import java.util.Arrays;
+
+/**
+ * Two-level table with the emoji properties of every Unicode codepoint, built from
+ * the emoji sequences of the dataset.
+ *
+ * The first level is indexed by the upper bits of the codepoint, and points to blocks
+ * of 256 flags. All the blocks without any flag share the same empty block, so the table
+ * takes just a few KB, and finding the properties of a codepoint is two array reads.
+ */
+final class EmojiCodePoints {
+
+    /** The codepoint starts at least one emoji sequence */
+    static final int START = 1;
+    /** The codepoint is part of at least one emoji sequence */
+    static final int MEMBER = 1 << 1;
+    /** The codepoint follows another codepoint in at least one emoji sequence, like ZWJ or FE0F */
+    static final int CONTINUATION = 1 << 2;
+    /** The codepoint is a skin tone modifier */
+    static final int MODIFIER = 1 << 3;
+    /** The codepoint starts an emoji that has skin tone variations */
+    static final int MODIFIER_BASE = 1 << 4;
+    /** The codepoint starts an emoji of the "People &amp; Body" category */
+    static final int PERSON = 1 << 5;
+    /** The codepoint is a regional indicator, used in pairs for country flags */
+    static final int REGIONAL_INDICATOR = 1 << 6;
+
+    private static final int BLOCK_SHIFT = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final byte[] EMPTY_BLOCK = new byte[BLOCK_SIZE];
+
+    private final byte[][] blocks = new byte[(Character.MAX_CODE_POINT + 1) >> BLOCK_SHIFT][];
+
+    EmojiCodePoints() {
+        Arrays.fill(blocks, EMPTY_BLOCK);
+        for (int cp = 0x1F3FB; cp <= 0x1F3FF; cp++) {
+            set(cp, MODIFIER);
+        }
+        for (int cp = 0x1F1E6; cp <= 0x1F1FF; cp++) {
+            set(cp, REGIONAL_INDICATOR);
+        }
+    }
+
+    /**
+     * Returns the flags of a codepoint
+     *
+     * @param codePoint a valid codepoint
+     * @return the flags of the codepoint, or 0 if it isn't used in emojis
+     */
+    int flags(int codePoint) {
+        return blocks[codePoint >>> BLOCK_SHIFT][codePoint & (BLOCK_SIZE - 1)];
+    }
+
+    /**
+     * @param codePoint a valid codepoint
+     * @param flag one or more flags
+     * @return true if the codepoint has any of the flags
+     */
+    boolean is(int codePoint, int flag) {
+        return (flags(codePoint) & flag) != 0;
+    }
+
+    void set(int codePoint, int flag) {
+        byte[] block = blocks[codePoint >>> BLOCK_SHIFT];
+        if (block == EMPTY_BLOCK) {
+            block = blocks[codePoint >>> BLOCK_SHIFT] = new byte[BLOCK_SIZE];
+        }
+        block[codePoint & (BLOCK_SIZE - 1)] |= flag;
+    }
+}
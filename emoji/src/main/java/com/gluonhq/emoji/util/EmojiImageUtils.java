@@ -30,8 +30,8 @@ package com.gluonhq.emoji.util;
 import com.gluonhq.emoji.Emoji;
 import java.io.IOException;
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,11 +46,12 @@ import javafx.stage.Screen;
 
 public class EmojiImageUtils {
 
-    private static Image emojiSprite20;
-    private static Image emojiSprite32;
-    private static SoftReference<Image> emojiSprite64;
+    private static volatile Image emojiSprite20;
+    private static volatile Image emojiSprite32;
+    private static volatile SoftReference<Image> emojiSprite64;
     
-    private static Map<Emoji, SoftReference<Image>> emojiCache = new HashMap<>();
+    // keyed by the unified codepoints, which don't change if the emoji is modified
+    private static final Map<String, SoftReference<Image>> emojiCache = new ConcurrentHashMap<>();
     private static final Logger LOG = Logger.getLogger(EmojiImageUtils.class.getName());
 
     public static final String IMAGE_VIEW_EMOJI_PROPERTY = "emoji_unified";
@@ -182,7 +183,7 @@ public class EmojiImageUtils {
         boolean gotImage = false;
         if (isRetina() || size > 32) {
             try {
-                SoftReference<Image> imageRef = emojiCache.get(emoji);
+                SoftReference<Image> imageRef = emojiCache.get(emoji.getUnified());
                 Image image = (imageRef != null) ? imageRef.get() : null;
                 if ((image == null)) {
                     image = extractGlyph64(emoji.getSheetX() * 66,
@@ -190,7 +191,7 @@ public class EmojiImageUtils {
                             66,
                             66);
                     imageRef = new SoftReference<>(image);
-                    emojiCache.put(emoji, imageRef);
+                    emojiCache.put(emoji.getUnified(), imageRef);
                 }
                 emojiView.setImage(image);
                 gotImage = true;
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import com.gluonhq.emoji.Emoji;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Result of the tokenization of a text into consecutive spans of plain text and emojis.
+ *
+ * Each span is defined by its start and end offsets in the original text, and by an
+ * emoji id (see {@link Emoji#getId()}), or -1 if it is a text span. These values are kept
+ * in primitive arrays that never change, so no text is copied.
+ * Consecutive text is always merged into a single span.
+ *
+ * The spans keep a reference to the original text, instead of a copy. If it is mutable,
+ * like a {@link StringBuilder}, it must not be modified while the spans are used.
+ */
+public final class EmojiSpans {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final CharSequence text;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] emojiIds;
+
+    private EmojiSpans(CharSequence text, int[] starts, int[] ends, int[] emojiIds) {
+        this.text = text;
+        this.starts = starts;
+        this.ends = ends;
+        this.emojiIds = emojiIds;
+    }
+
+    /**
+     * Tokenizes a text into spans of plain text and emojis
+     *
+     * @param text a valid text, that might contain emoji unicode
+     * @return the spans of the text
+     */
+    public static EmojiSpans of(CharSequence text) {
+        return of(text, new EmojiTokenizer());
+    }
+
+    static EmojiSpans of(CharSequence text, EmojiTokenizer tokenizer) {
+        return of(text, 0, text.length(), tokenizer);
+    }
+
+    /**
+     * Tokenizes a region of a text, returning spans that cover just that region
+     */
+    static EmojiSpans of(CharSequence text, int from, int to, EmojiTokenizer tokenizer) {
+        Builder builder = new Builder(text, from);
+        tokenizer.reset(text, from, to);
+        while (tokenizer.find()) {
+            builder.add(tokenizer.start(), tokenizer.end(), tokenizer.emojiId());
+        }
+        tokenizer.reset("");
+        return builder.build(to);
+    }
+
+    /**
+     * Joins the spans of consecutive regions of the same text, merging the text
+     * spans at both sides of each seam
+     */
+    static EmojiSpans concat(CharSequence text, List<EmojiSpans> regions) {
+        Builder builder = new Builder(text, 0);
+        for (EmojiSpans region : regions) {
+            for (int i = 0; i < region.size(); i++) {
+                if (region.isEmoji(i)) {
+                    builder.add(region.start(i), region.end(i), region.emojiId(i));
+                }
+            }
+        }
+        return builder.build(text.length());
+    }
+
+    /**
+     * @return the text that was tokenized, the same instance, not a copy
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * @return the number of spans
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * @param index the index of the span
+     * @return the start offset, inclusive, of the span in the text
+     */
+    public int start(int index) {
+        return starts[index];
+    }
+
+    /**
+     * @param index the index of the span
+     * @return the end offset, exclusive, of the span in the text
+     */
+    public int end(int index) {
+        return ends[index];
+    }
+
+    /**
+     * @param index the index of the span
+     * @return the id of the emoji of the span, as returned by {@link Emoji#getId()},
+     * or -1 if it is a text span
+     */
+    public int emojiId(int index) {
+        return emojiIds[index];
+    }
+
+    /**
+     * @param index the index of the span
+     * @return true if the span is an emoji, false if it is plain text
+     */
+    public boolean isEmoji(int index) {
+        return emojiIds[index] >= 0;
+    }
+
+    /**
+     * @param index the index of the span
+     * @return the emoji of the span, or null if it is a text span
+     */
+    public Emoji emoji(int index) {
+        int id = emojiIds[index];
+        return id < 0 ? null : EmojiTrie.getInstance().emojiForId(id);
+    }
+
+    /**
+     * @param index the index of the span
+     * @return the characters of the span, without copying them
+     */
+    public CharSequence subSequence(int index) {
+        return text.subSequence(starts[index], ends[index]);
+    }
+
+    /**
+     * Returns the same list of objects as
+     * {@link TextUtils#convertToStringAndEmojiObjects(String)}: text spans are
+     * added as {@link String} objects and emoji spans as {@link Emoji} objects.
+     *
+     * @return a list of objects
+     */
+    public List<Object> toStringAndEmojiObjects() {
+        List<Object> list = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            list.add(isEmoji(i) ? emoji(i) : subSequence(i).toString());
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return "EmojiSpans{" +
+                "starts=" + Arrays.toString(starts) +
+                ", ends=" + Arrays.toString(ends) +
+                ", emojiIds=" + Arrays.toString(emojiIds) +
+                '}';
+    }
+
+    static class Builder {
+
+        private final CharSequence text;
+        private int[] starts;
+        private int[] ends;
+        private int[] emojiIds;
+        private int size;
+        private int last;
+
+        Builder(CharSequence text, int from) {
+            this.text = text;
+            starts = ends = emojiIds = EMPTY;
+            last = from;
+        }
+
+        /**
+         * Adds an emoji span, and the text span between the previous span and this one
+         */
+        void add(int start, int end, int emojiId) {
+            if (last < start) {
+                append(last, start, -1);
+            }
+            append(start, end, emojiId);
+            last = end;
+        }
+
+        EmojiSpans build(int length) {
+            if (last < length) {
+                append(last, length, -1);
+                last = length;
+            }
+            return new EmojiSpans(text,
+                    Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), Arrays.copyOf(emojiIds, size));
+        }
+
+        private void append(int start, int end, int emojiId) {
+            if (size == starts.length) {
+                int capacity = Math.max(8, size * 2);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                emojiIds = Arrays.copyOf(emojiIds, capacity);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            emojiIds[size++] = emojiId;
+        }
+    }
+}
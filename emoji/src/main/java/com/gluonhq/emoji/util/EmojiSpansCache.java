@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded, least recently used cache of the {@link EmojiSpans} of texts, so
+ * the same texts, like the messages of a chat that are rendered again while scrolling,
+ * are only tokenized once.
+ *
+ * Texts longer than the maximum text length are tokenized but never cached, so
+ * the cache keeps at most {@code capacity * maxTextLength} characters alive.
+ *
+ * Instances are thread safe. They can be enabled for
+ * {@link TextUtils#convertToTextAndImageNodes(String)} with
+ * {@link TextUtils#setEmojiSpansCache(EmojiSpansCache)}.
+ */
+public final class EmojiSpansCache {
+
+    private static final int DEFAULT_MAX_TEXT_LENGTH = 1024;
+
+    private final int capacity;
+    private final int maxTextLength;
+    private final Map<String, EmojiSpans> map;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a cache for texts of up to 1024 characters
+     *
+     * @param capacity the maximum number of texts in the cache
+     */
+    public EmojiSpansCache(int capacity) {
+        this(capacity, DEFAULT_MAX_TEXT_LENGTH);
+    }
+
+    /**
+     * Creates a cache
+     *
+     * @param capacity the maximum number of texts in the cache
+     * @param maxTextLength the maximum length of the texts that are cached
+     */
+    public EmojiSpansCache(int capacity, int maxTextLength) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        if (maxTextLength < 0) {
+            throw new IllegalArgumentException("Invalid max text length: " + maxTextLength);
+        }
+        this.capacity = capacity;
+        this.maxTextLength = maxTextLength;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, EmojiSpans> eldest) {
+                return size() > EmojiSpansCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the spans of a text, from the cache if it was already tokenized, or
+     * tokenizing it otherwise
+     *
+     * @param text a valid string of text, that might contain emoji unicode
+     * @return the spans of the text
+     */
+    public EmojiSpans get(String text) {
+        if (text.length() > maxTextLength) {
+            synchronized (this) {
+                missCount++;
+            }
+            return TextUtils.convertToEmojiSpans(text);
+        }
+        synchronized (this) {
+            EmojiSpans spans = map.get(text);
+            if (spans != null) {
+                hitCount++;
+                return spans;
+            }
+            missCount++;
+        }
+        // tokenize out of the lock, concurrent misses for the same text produce equal results
+        EmojiSpans spans = TextUtils.convertToEmojiSpans(text);
+        synchronized (this) {
+            map.put(text, spans);
+        }
+        return spans;
+    }
+
+    /**
+     * @return the maximum number of texts in the cache
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the maximum length of the texts that are cached
+     */
+    public int getMaxTextLength() {
+        return maxTextLength;
+    }
+
+    /**
+     * @return the number of texts in the cache
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * @return the number of calls to {@link #get(String)} that found the text in the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of calls to {@link #get(String)} that had to tokenize the text
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Removes all the texts from the cache, and resets its counters
+     */
+    public synchronized void clear() {
+        map.clear();
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "EmojiSpansCache{" +
+                "size=" + map.size() +
+                ", capacity=" + capacity +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                '}';
+    }
+}
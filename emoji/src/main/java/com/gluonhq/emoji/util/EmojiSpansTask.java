@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task that tokenizes a region of a text, splitting it in halves
+ * at positions that no emoji sequence can cross, as defined by
+ * {@link EmojiTrie#isBoundary(CharSequence, int)}, so the joined result is the
+ * same as the one of a sequential tokenization.
+ * The result is the list of spans of each chunk, in order.
+ */
+class EmojiSpansTask extends RecursiveTask<List<EmojiSpans>> {
+
+    static final int THRESHOLD = 16 * 1024;
+
+    private final CharSequence text;
+    private final int from;
+    private final int to;
+
+    EmojiSpansTask(CharSequence text, int from, int to) {
+        this.text = text;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected List<EmojiSpans> compute() {
+        int split = to - from > THRESHOLD ? findBoundary(from + (to - from) / 2) : -1;
+        if (split < 0) {
+            List<EmojiSpans> list = new ArrayList<>();
+            list.add(EmojiSpans.of(text, from, to, new EmojiTokenizer()));
+            return list;
+        }
+        EmojiSpansTask right = new EmojiSpansTask(text, split, to);
+        right.fork();
+        List<EmojiSpans> list = new EmojiSpansTask(text, from, split).compute();
+        list.addAll(right.join());
+        return list;
+    }
+
+    private int findBoundary(int index) {
+        EmojiTrie trie = EmojiTrie.getInstance();
+        for (int i = index; i < to; i++) {
+            if (trie.isBoundary(text, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import com.gluonhq.emoji.Emoji;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * Tokenizes a stream of characters, like a {@link Reader} or a {@link CharBuffer},
+ * incrementally, notifying a {@link Listener} of the text and emojis found.
+ *
+ * The input is read into a buffer of fixed capacity, so memory stays bounded regardless
+ * of the size of the input. Emoji sequences that cross the boundaries of the reads are
+ * handled like in {@link EmojiTokenizer}, but a run of plain text can be notified in
+ * several consecutive chunks.
+ *
+ * Instances can be reused, but are not thread safe.
+ */
+public final class EmojiStreamTokenizer {
+
+    /**
+     * Receives the text and emojis found by an {@link EmojiStreamTokenizer}
+     */
+    public interface Listener {
+
+        /**
+         * Called with a chunk of plain text. The characters are only valid
+         * during the call, and have to be copied if needed afterwards.
+         *
+         * @param text the chunk of plain text
+         * @param position the position of the chunk in the input
+         */
+        void onText(CharSequence text, long position);
+
+        /**
+         * Called with an emoji
+         *
+         * @param emoji the emoji found
+         * @param position the position of the emoji in the input
+         * @param length the length in chars of the emoji in the input
+         */
+        void onEmoji(Emoji emoji, long position, int length);
+    }
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private final EmojiTrie trie = EmojiTrie.getInstance();
+    private final EmojiCodePoints properties = trie.properties();
+    private final char[] buffer;
+    private final CharBuffer view;
+
+    /**
+     * Creates a tokenizer with the default buffer capacity
+     */
+    public EmojiStreamTokenizer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a tokenizer with the given buffer capacity
+     *
+     * @param capacity the capacity of the buffer, that has to hold at least a few emoji sequences
+     */
+    public EmojiStreamTokenizer(int capacity) {
+        if (capacity < 4 * trie.maxLength()) {
+            throw new IllegalArgumentException("Capacity should be at least " + 4 * trie.maxLength());
+        }
+        buffer = new char[capacity];
+        view = CharBuffer.wrap(buffer);
+    }
+
+    /**
+     * Reads and tokenizes the input until its end. The input is not closed.
+     *
+     * @param input the input, like a {@link Reader} or a {@link CharBuffer}
+     * @param listener the listener that is notified of the text and emojis found
+     * @throws IOException if the input can't be read
+     */
+    public void tokenize(Readable input, Listener listener) throws IOException {
+        final int maxLength = trie.maxLength();
+        long offset = 0;
+        int fill = 0;
+        int textStart = 0;
+        int i = 0;
+        boolean eof = false;
+        while (true) {
+            if (!eof && fill - i < maxLength) {
+                // an emoji starting at i could cross the end of the buffer: flush the pending
+                // text, keep the last chars, and fill the buffer until it is full or the input ends
+                if (textStart < i) {
+                    listener.onText(CharBuffer.wrap(buffer, textStart, i - textStart), offset + textStart);
+                }
+                System.arraycopy(buffer, i, buffer, 0, fill - i);
+                fill -= i;
+                offset += i;
+                i = textStart = 0;
+                do {
+                    view.limit(buffer.length).position(fill);
+                    int read = input.read(view);
+                    if (read < 0) {
+                        eof = true;
+                    } else {
+                        fill += read;
+                    }
+                } while (!eof && fill < buffer.length);
+                view.clear().limit(fill);
+            }
+            if (i >= fill) {
+                break;
+            }
+            int cp = Character.codePointAt(buffer, i, fill);
+            long match = properties.is(cp, EmojiCodePoints.START) ? trie.match(view, i, fill) : -1;
+            if (match >= 0) {
+                if (textStart < i) {
+                    listener.onText(CharBuffer.wrap(buffer, textStart, i - textStart), offset + textStart);
+                }
+                int end = EmojiTrie.matchEnd(match);
+                listener.onEmoji(trie.emojiForId(EmojiTrie.matchEmojiId(match)), offset + i, end - i);
+                i = textStart = end;
+            } else {
+                i += Character.charCount(cp);
+            }
+        }
+        if (textStart < fill) {
+            listener.onText(CharBuffer.wrap(buffer, textStart, fill - textStart), offset + textStart);
+        }
+    }
+}
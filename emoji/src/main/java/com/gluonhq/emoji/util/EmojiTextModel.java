@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import com.gluonhq.emoji.Emoji;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Holds an editable text along with its tokenization into segments of plain text
+ * and emojis.
+ *
+ * Edits are applied with {@link #replace(int, int, CharSequence)}, that returns a
+ * {@link Change} with the segments that were replaced, so a view can update just the
+ * nodes of those segments.
+ * For instance, the changes of a {@code TextInputControl} can be applied from a
+ * {@code TextFormatter} filter, with
+ * {@code model.replace(change.getRangeStart(), change.getRangeEnd() - change.getRangeStart(), change.getText())}.
+ *
+ * Only a small window around the edit is tokenized again: it starts at the closest
+ * position before the edit that no emoji sequence can cross, or at most the length of the
+ * longest emoji sequence before it, and it ends as soon as the new tokens are in sync with
+ * the old ones after the edit, so the text after the window is not even scanned.
+ *
+ * Consecutive text is merged into segments of at most {@link #MAX_TEXT_LENGTH} characters,
+ * that never split a surrogate pair, so the segments are the ones of
+ * {@link EmojiSpans#of(CharSequence)} for the whole text, with long text split in parts.
+ * When an edit touches a text segment, its characters are copied into new segments, but
+ * they are not tokenized again, and as segments are short, that copy doesn't depend on the
+ * length of the text either.
+ *
+ * The segments are kept in a gap buffer, with the gap at the last edit, so a sequence of
+ * edits at close positions, like typing, doesn't move or shift the rest of the segments.
+ * The offsets of the segments after the gap are stored from the end of the text, so
+ * they don't change either when the text before them does. The text itself is a
+ * {@link StringBuilder}, so an edit still moves the characters after it, which is the
+ * main cost of an edit on texts of millions of characters, as measured by
+ * {@code EmojiTextModelBenchmark}.
+ *
+ * Instances are not thread safe.
+ */
+public final class EmojiTextModel {
+
+    /**
+     * The maximum number of characters of a text segment
+     */
+    public static final int MAX_TEXT_LENGTH = 1024;
+
+    private final EmojiTrie trie = EmojiTrie.getInstance();
+    private final EmojiTokenizer tokenizer = new EmojiTokenizer();
+    private final StringBuilder text = new StringBuilder();
+    private final List<Segment> segmentList = new SegmentList();
+
+    // gap buffer of segments: the gap is [gapStart, gapEnd). Offsets before the gap
+    // are from the start of the text, and offsets after the gap are from its end
+    private Segment[] segments = new Segment[16];
+    private int[] offsets = new int[16];
+    private int gapStart;
+    private int gapEnd = segments.length;
+
+    /**
+     * Creates an empty model
+     */
+    public EmojiTextModel() {
+    }
+
+    /**
+     * Creates a model with an initial text
+     *
+     * @param text a valid text, that might contain emoji unicode
+     */
+    public EmojiTextModel(CharSequence text) {
+        replace(0, 0, text);
+    }
+
+    /**
+     * Replaces a range of the text with a new text, and tokenizes the affected segments again
+     *
+     * @param offset the offset where the edit starts
+     * @param removedLength the number of characters removed at the offset
+     * @param inserted the text inserted at the offset
+     * @return the change of the segments
+     * @throws IndexOutOfBoundsException if the removed range is not within the text
+     */
+    public Change replace(int offset, int removedLength, CharSequence inserted) {
+        final int length = text.length();
+        if (offset < 0 || removedLength < 0 || offset > length - removedLength) {
+            throw new IndexOutOfBoundsException("Invalid range: " + offset + ", " + removedLength + " for length " + length);
+        }
+        // a position before the edit where tokenizing can start again: either a boundary that
+        // no emoji sequence can cross, with unchanged characters at both sides, or a position
+        // far enough that no emoji before it can reach the edit
+        int size = size();
+        int anchor = Math.max(0, offset - trie.maxLength() - 1);
+        int left = Math.max(0, offset - 2);
+        while (left > anchor && !trie.isBoundary(text, left)) {
+            left--;
+        }
+        int first = left < length ? segmentIndex(left) : size;
+        if (left > 0 && !trie.isBoundary(text, left)) {
+            if (segments[physical(first)].isEmoji()) {
+                left = segmentStart(first);
+            } else if (Character.isLowSurrogate(text.charAt(left)) && Character.isHighSurrogate(text.charAt(left - 1))) {
+                left--;
+            }
+        }
+        // the text segment that contains the start, or ends right at it, is merged with the new text
+        int textStart = left;
+        boolean textBefore = false;
+        if (first < size && segmentStart(first) < left) {
+            textStart = segmentStart(first);
+        } else if (first > 0 && !segments[physical(first - 1)].isEmoji()) {
+            first--;
+            textStart = segmentStart(first);
+            textBefore = true;
+        }
+
+        // with the gap at the first segment, the offsets of the segments after the edit
+        // are in the new text coordinates once the text is replaced
+        moveGap(first);
+        text.replace(offset, offset + removedLength, inserted.toString());
+        final int newLength = text.length();
+        final int editEnd = offset + inserted.length();
+
+        int from = textStart;
+        List<Segment> added = new ArrayList<>();
+        int position = left;
+        int last;
+        while (true) {
+            // the old tokenization can be reused from a position after the edit that was
+            // scanned by both the old and the new tokenization
+            int p = Math.max(position, editEnd);
+            if (p < newLength && Character.isLowSurrogate(text.charAt(p))) {
+                p++;
+            }
+            // an emoji that starts before p, or before the end of an old emoji that contains p,
+            // ends before the limit, and after p the old tokens are reused
+            int limit = Math.min(newLength, p + 2 * trie.maxLength());
+            boolean found = tokenizer.reset(text, position, limit).find();
+            int tokenStart = found ? tokenizer.start() : limit;
+            if (p <= tokenStart) {
+                int k = p < newLength ? Math.max(first, segmentIndex(p)) : size;
+                if (k < size && segmentStart(k) < p && segments[physical(k)].isEmoji()) {
+                    // inside an old emoji, that was scanned as a whole
+                    p = segmentStart(k) + segments[physical(k)].length();
+                    k++;
+                }
+                if (p <= tokenStart) {
+                    last = k;
+                    int textEnd = p;
+                    if (k < size && !segments[physical(k)].isEmoji() && (textStart < p || segmentStart(k) < p)) {
+                        textEnd = segmentStart(k) + segments[physical(k)].length();
+                        last++;
+                    }
+                    addText(added, textStart, textEnd);
+                    break;
+                }
+            }
+            addText(added, textStart, tokenStart);
+            added.add(new Segment(text.substring(tokenStart, tokenizer.end()), tokenizer.emoji()));
+            textStart = position = tokenizer.end();
+        }
+        tokenizer.reset("");
+        if (textBefore && added.get(0).length() == left - from) {
+            // an emoji starts at the same position as before, so the text before it didn't change
+            added.remove(0);
+            segments[gapStart] = segments[gapEnd];
+            offsets[gapStart] = from;
+            if (gapStart != gapEnd) {
+                segments[gapEnd] = null;
+            }
+            gapStart++;
+            gapEnd++;
+            first++;
+            from = left;
+        }
+
+        // the removed segments are right after the gap, and the added ones go at its start
+        for (int i = first; i < last; i++) {
+            segments[gapEnd++] = null;
+        }
+        ensureGap(added.size());
+        int start = from;
+        for (Segment segment : added) {
+            segments[gapStart] = segment;
+            offsets[gapStart++] = start;
+            start += segment.length();
+        }
+        return new Change(first, last - first, Collections.unmodifiableList(added));
+    }
+
+    /**
+     * Adds the text segments of a range of the text, split in parts of the same length,
+     * of at most {@link #MAX_TEXT_LENGTH} characters, that don't split surrogate pairs.
+     * Parts of the same length, instead of full parts and a short one, keep the text of
+     * a sequence of edits in segments of at least half the maximum length.
+     */
+    private void addText(List<Segment> added, int start, int end) {
+        while (start < end) {
+            int parts = (end - start + MAX_TEXT_LENGTH - 1) / MAX_TEXT_LENGTH;
+            int split = start + (end - start + parts - 1) / parts;
+            if (split < end && Character.isHighSurrogate(text.charAt(split - 1)) && Character.isLowSurrogate(text.charAt(split))) {
+                split--;
+            }
+            added.add(new Segment(text.substring(start, split), null));
+            start = split;
+        }
+    }
+
+    /**
+     * @return the length of the text
+     */
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * @return the current text
+     */
+    public String getText() {
+        return text.toString();
+    }
+
+    /**
+     * @return an unmodifiable view of the current segments of the text
+     */
+    public List<Segment> getSegments() {
+        return segmentList;
+    }
+
+    /**
+     * @param index the index of a segment
+     * @return the offset of the segment in the text
+     */
+    public int segmentStart(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Invalid segment: " + index);
+        }
+        return index < gapStart ? offsets[index] : text.length() - offsets[physical(index)];
+    }
+
+    private int size() {
+        return segments.length - (gapEnd - gapStart);
+    }
+
+    private int physical(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * Returns the index of the last segment that starts at or before an offset, or -1 if there is none
+     */
+    private int segmentIndex(int offset) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (segmentStart(mid) <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Moves the gap before the segment at the given index, converting the offsets of
+     * the segments that cross it. It has to be called before the text changes.
+     */
+    private void moveGap(int index) {
+        final int length = text.length();
+        final boolean empty = gapStart == gapEnd;
+        while (gapStart > index) {
+            segments[--gapEnd] = segments[--gapStart];
+            offsets[gapEnd] = length - offsets[gapStart];
+            if (!empty) {
+                segments[gapStart] = null;
+            }
+        }
+        while (gapStart < index) {
+            segments[gapStart] = segments[gapEnd];
+            offsets[gapStart++] = length - offsets[gapEnd];
+            if (!empty) {
+                segments[gapEnd] = null;
+            }
+            gapEnd++;
+        }
+    }
+
+    private void ensureGap(int count) {
+        if (gapEnd - gapStart >= count) {
+            return;
+        }
+        int capacity = Math.max(segments.length * 2, size() + count);
+        int tail = segments.length - gapEnd;
+        Segment[] newSegments = new Segment[capacity];
+        int[] newOffsets = new int[capacity];
+        System.arraycopy(segments, 0, newSegments, 0, gapStart);
+        System.arraycopy(offsets, 0, newOffsets, 0, gapStart);
+        System.arraycopy(segments, gapEnd, newSegments, capacity - tail, tail);
+        System.arraycopy(offsets, gapEnd, newOffsets, capacity - tail, tail);
+        segments = newSegments;
+        offsets = newOffsets;
+        gapEnd = capacity - tail;
+    }
+
+    private final class SegmentList extends AbstractList<Segment> implements RandomAccess {
+
+        @Override
+        public Segment get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Invalid segment: " + index);
+            }
+            return segments[physical(index)];
+        }
+
+        @Override
+        public int size() {
+            return EmojiTextModel.this.size();
+        }
+    }
+
+    /**
+     * An immutable segment of plain text or of a single emoji
+     */
+    public static final class Segment {
+
+        private final String text;
+        private final Emoji emoji;
+
+        Segment(String text, Emoji emoji) {
+            this.text = text;
+            this.emoji = emoji;
+        }
+
+        /**
+         * @return the characters of the segment
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the emoji of the segment, or null if it is a text segment
+         */
+        public Emoji getEmoji() {
+            return emoji;
+        }
+
+        /**
+         * @return true if the segment is an emoji, false if it is plain text
+         */
+        public boolean isEmoji() {
+            return emoji != null;
+        }
+
+        /**
+         * @return the number of characters of the segment
+         */
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public String toString() {
+            return "Segment{" +
+                    "text='" + text + '\'' +
+                    ", emoji=" + (emoji == null ? null : emoji.getUnified()) +
+                    '}';
+        }
+    }
+
+    /**
+     * Describes how the segments changed after an edit: a number of segments were
+     * removed at an index, and replaced with new segments
+     */
+    public static final class Change {
+
+        private final int from;
+        private final int removedSize;
+        private final List<Segment> addedSegments;
+
+        Change(int from, int removedSize, List<Segment> addedSegments) {
+            this.from = from;
+            this.removedSize = removedSize;
+            this.addedSegments = addedSegments;
+        }
+
+        /**
+         * @return the index of the first segment that changed
+         */
+        public int getFrom() {
+            return from;
+        }
+
+        /**
+         * @return the number of segments that were removed
+         */
+        public int getRemovedSize() {
+            return removedSize;
+        }
+
+        /**
+         * @return the segments that were added, in order, at {@link #getFrom()}
+         */
+        public List<Segment> getAddedSegments() {
+            return addedSegments;
+        }
+
+        @Override
+        public String toString() {
+            return "Change{" +
+                    "from=" + from +
+                    ", removedSize=" + removedSize +
+                    ", addedSegments=" + addedSegments +
+                    '}';
+        }
+    }
+}
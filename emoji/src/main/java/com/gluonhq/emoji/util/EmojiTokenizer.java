@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import com.gluonhq.emoji.Emoji;
+
+/**
+ * Finds the emojis of a text, walking the {@link CharSequence} directly.
+ * Similar to {@link java.util.regex.Matcher}, an instance can be reset and reused
+ * for any number of texts, and finding the emojis doesn't allocate any object.
+ * For instance:
+ * <pre>
+ * EmojiTokenizer tokenizer = new EmojiTokenizer();
+ * tokenizer.reset(text);
+ * int last = 0;
+ * while (tokenizer.find()) {
+ *     // text.subSequence(last, tokenizer.start()) is plain text
+ *     Emoji emoji = tokenizer.emoji();
+ *     last = tokenizer.end();
+ * }
+ * // text.subSequence(last, text.length()) is plain text
+ * </pre>
+ *
+ * Instances are not thread safe.
+ */
+public final class EmojiTokenizer {
+
+    private final EmojiTrie trie = EmojiTrie.getInstance();
+    private final EmojiCodePoints properties = trie.properties();
+
+    private CharSequence text = "";
+    private int position;
+    private int limit;
+    private int start = -1;
+    private int end = -1;
+    private int emojiId = -1;
+
+    /**
+     * Resets this tokenizer with a new text
+     *
+     * @param text the text to tokenize
+     * @return this tokenizer
+     */
+    public EmojiTokenizer reset(CharSequence text) {
+        return reset(text, 0, text.length());
+    }
+
+    /**
+     * Resets this tokenizer with a region of a new text. Emojis are only searched
+     * within the region, but their indices are relative to the whole text.
+     *
+     * @param text the text to tokenize
+     * @param from the start index of the region, inclusive
+     * @param to the end index of the region, exclusive
+     * @return this tokenizer
+     */
+    public EmojiTokenizer reset(CharSequence text, int from, int to) {
+        if (from < 0 || to > text.length() || from > to) {
+            throw new IndexOutOfBoundsException("Invalid region [" + from + ", " + to + ") for length " + text.length());
+        }
+        this.text = text;
+        position = from;
+        limit = to;
+        start = end = emojiId = -1;
+        return this;
+    }
+
+    /**
+     * Finds the next emoji in the text, taking the longest sequence available
+     *
+     * @return true if an emoji was found, false if the end of the text was reached
+     */
+    public boolean find() {
+        int i = position;
+        while (i < limit) {
+            int cp = EmojiTrie.codePointAt(text, i, limit);
+            if (properties.is(cp, EmojiCodePoints.START)) {
+                long match = trie.match(text, i, limit);
+                if (match >= 0) {
+                    start = i;
+                    end = position = EmojiTrie.matchEnd(match);
+                    emojiId = EmojiTrie.matchEmojiId(match);
+                    return true;
+                }
+            }
+            i += Character.charCount(cp);
+        }
+        position = limit;
+        start = end = emojiId = -1;
+        return false;
+    }
+
+    /**
+     * @return the start index of the last emoji found
+     */
+    public int start() {
+        checkMatch();
+        return start;
+    }
+
+    /**
+     * @return the end index, exclusive, of the last emoji found
+     */
+    public int end() {
+        checkMatch();
+        return end;
+    }
+
+    /**
+     * @return the last emoji found
+     */
+    public Emoji emoji() {
+        checkMatch();
+        return trie.emojiForId(emojiId);
+    }
+
+    /**
+     * @return the id of the last emoji found, as used by {@link EmojiSpans}
+     */
+    public int emojiId() {
+        checkMatch();
+        return emojiId;
+    }
+
+    private void checkMatch() {
+        if (emojiId < 0) {
+            throw new IllegalStateException("No emoji available");
+        }
+    }
+}
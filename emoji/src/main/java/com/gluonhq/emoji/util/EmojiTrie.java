@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+import com.gluonhq.emoji.Emoji;
+import com.gluonhq.emoji.EmojiColumns;
+import com.gluonhq.emoji.EmojiData;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Codepoint trie built from the unified and non-qualified sequences of all the emojis
+ * in {@link EmojiData}, that allows finding the longest emoji sequence that starts at
+ * a given position of a text, walking it just once.
+ *
+ * Nodes are identified by an int, and their children are kept in sorted arrays, so
+ * walking the trie doesn't allocate. Emojis are identified by their dense id, as
+ * returned by {@link Emoji#getId()}, that can be resolved with {@link #emojiForId(int)}.
+ */
+final class EmojiTrie {
+
+    static final int ROOT = 0;
+    static final int NO_NODE = -1;
+
+    private static final int[] NO_CHILDREN = new int[0];
+
+    private static volatile EmojiTrie instance;
+
+    private final int[][] codePoints;
+    private final int[][] children;
+    private final int[] emojiIds;
+    private final EmojiColumns columns;
+    private final int maxLength;
+    private final EmojiCodePoints properties;
+
+    private EmojiTrie(int[][] codePoints, int[][] children, int[] emojiIds, EmojiColumns columns, int maxLength,
+                      EmojiCodePoints properties) {
+        this.codePoints = codePoints;
+        this.children = children;
+        this.emojiIds = emojiIds;
+        this.columns = columns;
+        this.maxLength = maxLength;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns the trie of the emojis, building it the first time. If the emojis are not
+     * loaded yet with {@link EmojiData.LoadingPolicy#FAIL_FAST}, or can't be loaded, the
+     * exception is thrown and nothing is cached, so a later call can build it.
+     *
+     * @return the trie
+     * @throws IllegalStateException if the emojis are not available
+     */
+    static EmojiTrie getInstance() {
+        EmojiTrie trie = instance;
+        if (trie == null) {
+            synchronized (EmojiTrie.class) {
+                trie = instance;
+                if (trie == null) {
+                    trie = instance = build(EmojiData.getEmojiColumns());
+                }
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * Returns the node reached from a given node with the given codepoint
+     *
+     * @param node the current node
+     * @param codePoint the next codepoint
+     * @return the child node, or {@link #NO_NODE} if the sequence can't be extended
+     */
+    int next(int node, int codePoint) {
+        int index = Arrays.binarySearch(codePoints[node], codePoint);
+        return index < 0 ? NO_NODE : children[node][index];
+    }
+
+    /**
+     * Finds the longest emoji sequence that starts at a given index of a text.
+     * Both the end of the sequence and the emoji id are returned in a single long value,
+     * to avoid allocations: they can be extracted with {@link #matchEnd(long)} and
+     * {@link #matchEmojiId(long)}.
+     *
+     * @param text the text
+     * @param index the index where the sequence starts
+     * @param limit the index, exclusive, where the sequence has to end
+     * @return the match, or -1 if no emoji starts at the given index
+     */
+    long match(CharSequence text, int index, int limit) {
+        int match = -1;
+        int matchEnd = index;
+        int node = ROOT;
+        int i = index;
+        while (i < limit) {
+            int cp = codePointAt(text, i, limit);
+            node = next(node, cp);
+            if (node == NO_NODE) {
+                break;
+            }
+            i += Character.charCount(cp);
+            if (emojiIds[node] >= 0) {
+                match = emojiIds[node];
+                matchEnd = i;
+            }
+        }
+        return match < 0 ? -1 : ((long) matchEnd << 32) | match;
+    }
+
+    /**
+     * Returns the codepoint at the given index of a text, like {@link Character#codePointAt(CharSequence, int)},
+     * but without reading the low surrogate of a pair that is split at the limit
+     *
+     * @param text the text
+     * @param index the index of the codepoint
+     * @param limit the index, exclusive, where the codepoints have to end
+     * @return the codepoint, or the high surrogate at limit - 1
+     */
+    static int codePointAt(CharSequence text, int index, int limit) {
+        char c = text.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < limit) {
+            char low = text.charAt(index + 1);
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(c, low);
+            }
+        }
+        return c;
+    }
+
+    static int matchEnd(long match) {
+        return (int) (match >>> 32);
+    }
+
+    static int matchEmojiId(long match) {
+        return (int) match;
+    }
+
+    /**
+     * Returns true if a text can be split before the given index, and tokenized
+     * as two independent parts with the same result, because no emoji sequence
+     * can contain both the codepoint before and the codepoint at that index.
+     *
+     * @param text the text
+     * @param index the index
+     * @return true if no emoji sequence crosses the index
+     */
+    boolean isBoundary(CharSequence text, int index) {
+        if (index <= 0 || index >= text.length()) {
+            return true;
+        }
+        if (Character.isLowSurrogate(text.charAt(index)) && Character.isHighSurrogate(text.charAt(index - 1))) {
+            return false;
+        }
+        return !properties.is(Character.codePointBefore(text, index), EmojiCodePoints.MEMBER) ||
+                !properties.is(Character.codePointAt(text, index), EmojiCodePoints.CONTINUATION);
+    }
+
+    /**
+     * @return the properties of the codepoints used in the emoji sequences of the trie
+     */
+    EmojiCodePoints properties() {
+        return properties;
+    }
+
+    /**
+     * @return the length in chars of the longest sequence in the trie
+     */
+    int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the id of the emoji for the sequence that ends at the given node
+     *
+     * @param node a node of the trie
+     * @return the emoji id, or -1 if the node is just the prefix of longer sequences
+     */
+    int emojiId(int node) {
+        return emojiIds[node];
+    }
+
+    /**
+     * Returns the emoji for the sequence that ends at the given node
+     *
+     * @param node a node of the trie
+     * @return the emoji, or null if the node is just the prefix of longer sequences
+     */
+    Emoji emoji(int node) {
+        int id = emojiIds[node];
+        return id < 0 ? null : columns.emoji(id);
+    }
+
+    /**
+     * Returns the emoji for a given id
+     *
+     * @param id a valid emoji id
+     * @return the emoji
+     */
+    Emoji emojiForId(int id) {
+        return columns.emoji(id);
+    }
+
+    private static EmojiTrie build(EmojiColumns columns) {
+        Builder root = new Builder();
+        EmojiCodePoints properties = new EmojiCodePoints();
+        for (int id = 0; id < columns.size(); id++) {
+            Emoji emoji = columns.emoji(id);
+            root.add(emoji.getCodePoints(), id, properties);
+            if (emoji.codePointCount() == 0) {
+                continue;
+            }
+            if (emoji.getSkinVariationMap() != null && !emoji.getSkinVariationMap().isEmpty()) {
+                properties.set(emoji.codePointAt(0), EmojiCodePoints.MODIFIER_BASE);
+            }
+            if ("People & Body".equals(emoji.getCategory())) {
+                properties.set(emoji.codePointAt(0), EmojiCodePoints.PERSON);
+            }
+        }
+        for (int id = 0; id < columns.size(); id++) {
+            String nonQualified = columns.emoji(id).getNonQualified();
+            if (nonQualified == null) {
+                continue;
+            }
+            int[] sequence = parseSequence(nonQualified);
+            if (sequence.length == 1 && sequence[0] < 0x2000) {
+                // non-qualified "©" or "®" default to text presentation
+                continue;
+            }
+            root.add(sequence, id, properties);
+        }
+
+        // flatten the tree breadth first, so the root is node 0
+        List<Builder> nodes = new ArrayList<>();
+        Deque<Builder> queue = new ArrayDeque<>();
+        root.id = 0;
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Builder node = queue.poll();
+            nodes.add(node);
+            for (Builder child : node.children.values()) {
+                child.id = nodes.size() + queue.size();
+                queue.add(child);
+            }
+        }
+        int[][] codePoints = new int[nodes.size()][];
+        int[][] children = new int[nodes.size()][];
+        int[] emojiIds = new int[nodes.size()];
+        for (Builder node : nodes) {
+            int size = node.children.size();
+            codePoints[node.id] = size == 0 ? NO_CHILDREN : new int[size];
+            children[node.id] = size == 0 ? NO_CHILDREN : new int[size];
+            int i = 0;
+            for (Map.Entry<Integer, Builder> entry : node.children.entrySet()) {
+                codePoints[node.id][i] = entry.getKey();
+                children[node.id][i++] = entry.getValue().id;
+            }
+            emojiIds[node.id] = node.emojiId;
+        }
+        return new EmojiTrie(codePoints, children, emojiIds, columns, root.maxLength, properties);
+    }
+
+    /**
+     * Parses a string of hex codepoints separated by dashes, like the non-qualified
+     * value of an emoji
+     */
+    private static int[] parseSequence(String sequence) {
+        String[] parts = sequence.split("-");
+        int[] codePoints = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            codePoints[i] = Integer.parseInt(parts[i], 16);
+        }
+        return codePoints;
+    }
+
+    private static class Builder {
+
+        private final Map<Integer, Builder> children = new TreeMap<>();
+        private int emojiId = -1;
+        private int id;
+        private int maxLength;
+
+        /**
+         * Adds a sequence to the trie, from its root, flagging its codepoints in the given properties
+         */
+        void add(int[] sequence, int value, EmojiCodePoints properties) {
+            Builder node = this;
+            int length = 0;
+            for (int codePoint : sequence) {
+                if (node == this) {
+                    properties.set(codePoint, EmojiCodePoints.START | EmojiCodePoints.MEMBER);
+                } else {
+                    properties.set(codePoint, EmojiCodePoints.CONTINUATION | EmojiCodePoints.MEMBER);
+                }
+                length += Character.charCount(codePoint);
+                node = node.children.computeIfAbsent(codePoint, cp -> new Builder());
+            }
+            maxLength = Math.max(maxLength, length);
+            if (node.emojiId < 0) {
+                node.emojiId = value;
+            }
+        }
+    }
+
+}
@@ -34,15 +34,21 @@ import javafx.scene.image.ImageView;
 import javafx.scene.text.Text;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class TextUtils {
 
     public static final double EMOJI_SIZE_FONT_FACTOR = 1.30;
     private static final double imageSize = 20;
-    private static double imageOffset = -1;
+    private static volatile double imageOffset = -1;
+    private static final ThreadLocal<EmojiTokenizer> TOKENIZER = ThreadLocal.withInitial(EmojiTokenizer::new);
+    private static volatile EmojiSpansCache spansCache;
 
     /**
      * Parses a text string and returns a list of nodes: all possible emojis found are
@@ -66,17 +72,35 @@ public class TextUtils {
      * @return a list of nodes
      */
     public static List<Node> convertToTextAndImageNodes(String text, double emojiSize) {
-        return convertToStringAndEmojiObjects(text)
-                .stream()
-                .map(o -> {
-                    if (o instanceof String) {
-                        return getTextNode((String) o);
-                    } else {
-                        Emoji emoji = (Emoji) o;
-                        return EmojiImageUtils.emojiView(emoji, emojiSize, getImageOffset(emojiSize));
-                    }
-                })
-                .collect(Collectors.toList());
+        EmojiSpansCache cache = spansCache;
+        EmojiSpans spans = cache != null ? cache.get(text) : convertToEmojiSpans(text);
+        List<Node> nodes = new ArrayList<>(spans.size());
+        for (int i = 0; i < spans.size(); i++) {
+            if (spans.isEmoji(i)) {
+                nodes.add(EmojiImageUtils.emojiView(spans.emoji(i), emojiSize, getImageOffset(emojiSize)));
+            } else {
+                nodes.add(getTextNode(spans.subSequence(i).toString()));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Sets the cache used by {@link #convertToTextAndImageNodes(String)} and
+     * {@link #convertToTextAndImageNodes(String, double)}, so texts that are converted
+     * again and again are only tokenized once. By default, there is no cache.
+     *
+     * @param cache the cache of the tokenized texts, or null to disable it
+     */
+    public static void setEmojiSpansCache(EmojiSpansCache cache) {
+        spansCache = cache;
+    }
+
+    /**
+     * @return the cache used to convert texts into nodes, or null if there is none
+     */
+    public static EmojiSpansCache getEmojiSpansCache() {
+        return spansCache;
     }
 
     /**
@@ -113,115 +137,107 @@ public class TextUtils {
      */
     public static List<Object> convertToStringAndEmojiObjects(String text) {
         List<Object> list = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
-        StringBuilder sbChain = new StringBuilder();
-        List<Integer> codePoints = text.codePoints().boxed().collect(Collectors.toList());
-        for (int i = 0; i < codePoints.size(); i++) {
-            int ch = codePoints.get(i);
-            int nch = i < codePoints.size() - 1 ? codePoints.get(i + 1) : -1;
-            // if current codepoint is emoji or emoji connector
-            // or if current codepoint is not an emoji, but next codepoint is variant separator
-            if (isEmoji(ch) || isEmojiConnector(ch) || (!isEmoji(ch) && isVariantSeparator(nch))) {
-                if (sb.length() > 0) {
-                    list.add(sb.toString());
-                    sb.setLength(0);
-                }
-
-                if (sbChain.length() > 0) {
-                    sbChain.append("-");
-                }
-                String codePoint = String.format("%04X", ch);
-                sbChain.append(codePoint);
-
-                // stop and search emoji if:
-                // current codepoint is an emoji or emoji connector and:
-                // - we are at last codepoint, or
-                // - current codepoint is an emoji but not a person emoji and next codepoint is skin tone, or
-                // - next codepoint is neither an emoji nor a connector, or
-                // - we are at a skin tone connector or at a hairstyle connector, and next codepoint is not ZWJ, or
-                // - we are at a country flag codepoint and next codepoint is not country flag codepoint, or if it is, there is one "-" already, or
-                // - we are not at a country flag codepoint and next codepoint is a country flag codepoint, or
-                // - current codepoint is variant separator 0xFE0F and next codepoint is not ZWJ 0x200D or CombiningEnclose 0x20E3, or
-                // - current codepoint is end of regional indicator, or
-                // - next codepoint is an emoji, but not a country flag, and current codepoint is not a connector
-
-                if ((i == codePoints.size() - 1) ||
-                        (isEmoji(ch) && isSkinTone(nch) && !isPersonEmoji(ch)) ||
-                        (!isEmoji(nch) && !isEmojiConnector(nch)) ||
-                        ((isSkinTone(ch) || isHairstyle(ch)) && !isZWJ(nch)) ||
-                        (isCountryFlag(ch) && (!isCountryFlag(nch) || sbChain.toString().contains("-"))) ||
-                        (!isCountryFlag(ch) && isCountryFlag(nch)) ||
-                        (isVariantSeparator(ch) && !isZWJ(nch) && nch != 0x20E3) ||
-                        (ch == 0xE007F) ||
-                        (isEmoji(nch) && !isCountryFlag(nch) && !isEmojiConnector(ch))) {
-                    String accumulatedCodePoints = sbChain.toString().toUpperCase(Locale.ROOT);
-                    EmojiData.emojiFromCodepoints(accumulatedCodePoints).ifPresentOrElse(
-                            list::add,
-                            () -> {
-                                if (isSkinTone(ch)) {
-                                    // Not all People&Body emojis support skin variation
-                                    // If this is the case, split sbChain in two and try to add both emojis:
-                                    EmojiData.emojiFromCodepoints(accumulatedCodePoints.substring(0, codePoint.length())).ifPresent(list::add);
-                                    EmojiData.emojiFromCodepoints(codePoint).ifPresent(list::add);
-                                }
-                            });
-                    sbChain.setLength(0);
-                }
-            } else {
-                sb.appendCodePoint(ch);
+        EmojiTokenizer tokenizer = TOKENIZER.get().reset(text);
+        int textStart = 0;
+        while (tokenizer.find()) {
+            if (textStart < tokenizer.start()) {
+                list.add(text.substring(textStart, tokenizer.start()));
             }
+            list.add(tokenizer.emoji());
+            textStart = tokenizer.end();
         }
-        if (sb.length() > 0) {
-            list.add(sb.toString());
-            sb.setLength(0);
+        if (textStart < text.length()) {
+            list.add(text.substring(textStart));
         }
+        // don't keep a reference to the text
+        tokenizer.reset("");
         return list;
     }
 
-    // https://unicode.org/Public/emoji/15.0/emoji-test.txt
-
-    private static boolean isEmoji(int ch) {
-        // valid ranges for emojis:
-        // 127744 <= ch && ch <= 129784 0x1F300-0x1FAF8, excluding the skin tone
-        // 126980 <= ch && ch <= 127569 0x1F004-0x1F251
-        // 8205 < ch && ch <= 12953 0x200D < ch && ch <= 0x3299
-        return  (0x1F300 <= ch && ch <= 0x1FAF8 && !isSkinTone(ch)) ||
-                (0x1F004 <= ch && ch <= 0x1F251) ||
-                (0x200D < ch && ch <= 0x3299);
-    }
-
-    private static boolean isPersonEmoji(int ch) {
-        return "People & Body".equals(EmojiData.emojiFromCodepoints(String.format("%04X", ch))
-                        .map(Emoji::getCategory).orElse(""));
-    }
-
-    private static boolean isEmojiConnector(int ch) {
-        // skin tone 127995 - 127999 or hairstyle 129456 - 129459 or
-        // Zero width joiner 8205, or variant separator 65039,
-        // or flag regional indicators
-        return  isSkinTone(ch) || isHairstyle(ch) ||
-                isZWJ(ch) || isVariantSeparator(ch) ||
-                (ch >= 0xE0062 && ch <= 0xE007F);
-    }
-
-    private static boolean isZWJ(int ch) {
-        return ch == 0x200D;
+    /**
+     * Returns true if a text contains at least one emoji. Codepoints are checked against
+     * a precomputed table, and the search ends as soon as an emoji is found, so texts without
+     * emojis can skip the tokenization entirely.
+     *
+     * @param text a valid text, that might contain emoji unicode
+     * @return true if the text contains an emoji, false otherwise
+     */
+    public static boolean containsEmoji(CharSequence text) {
+        EmojiTrie trie = EmojiTrie.getInstance();
+        EmojiCodePoints properties = trie.properties();
+        final int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int cp = Character.codePointAt(text, i);
+            if (properties.is(cp, EmojiCodePoints.START) && trie.match(text, i, length) >= 0) {
+                return true;
+            }
+            i += Character.charCount(cp);
+        }
+        return false;
     }
 
-    private static boolean isVariantSeparator(int ch) {
-        return ch == 0xFE0F;
+    /**
+     * Parses a text and returns its spans of plain text and emojis, as offsets
+     * into the original text, without copying it.
+     *
+     * @param text a valid text, that might contain emoji unicode
+     * @return the spans of the text
+     */
+    public static EmojiSpans convertToEmojiSpans(CharSequence text) {
+        return EmojiSpans.of(text, TOKENIZER.get());
     }
 
-    private static boolean isSkinTone(int ch) {
-        return 0x1F3FB <= ch && ch <= 0x1F3FF;
+    /**
+     * Parses a text in parallel and returns its spans of plain text and emojis.
+     * The text is split in chunks at positions that can't be inside an emoji sequence,
+     * that are tokenized on the given pool, so the result is the same as with
+     * {@link #convertToEmojiSpans(CharSequence)}. Short texts are tokenized on the
+     * calling thread.
+     *
+     * @param text a valid text, that might contain emoji unicode
+     * @param pool the pool where the chunks are tokenized
+     * @return the spans of the text
+     */
+    public static EmojiSpans convertToEmojiSpans(CharSequence text, ForkJoinPool pool) {
+        if (text.length() <= EmojiSpansTask.THRESHOLD) {
+            return convertToEmojiSpans(text);
+        }
+        return EmojiSpans.concat(text, pool.invoke(new EmojiSpansTask(text, 0, text.length())));
     }
 
-    private static boolean isHairstyle(int ch) {
-        return 0x1F9B0 <= ch && ch <= 0x1F9B3;
+    /**
+     * Parses a text string in parallel and returns the same list of objects as
+     * {@link #convertToStringAndEmojiObjects(String)}.
+     *
+     * @param text a valid string of text, that might contain emoji unicode
+     * @param pool the pool where chunks of the text are tokenized
+     * @return a list of objects
+     * @see #convertToEmojiSpans(CharSequence, ForkJoinPool)
+     */
+    public static List<Object> convertToStringAndEmojiObjects(String text, ForkJoinPool pool) {
+        return convertToEmojiSpans(text, pool).toStringAndEmojiObjects();
     }
 
-    private static boolean isCountryFlag(int ch) {
-        return ch >= 0x1F1E6 && ch <= 0x1F1FF;
+    /**
+     * Parses a batch of independent texts concurrently, each one on a task submitted
+     * to the given executor, and returns their spans of plain text and emojis, in the
+     * same order as the texts. On Java 21+, a virtual thread per task executor can be used.
+     *
+     * @param texts a collection of valid texts, that might contain emoji unicode
+     * @param executor the executor where each text is tokenized
+     * @return a future with the list of spans of each text
+     */
+    public static CompletableFuture<List<EmojiSpans>> convertToEmojiSpans(Collection<? extends CharSequence> texts, Executor executor) {
+        EmojiSpans[] results = new EmojiSpans[texts.size()];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[results.length];
+        int i = 0;
+        for (CharSequence text : texts) {
+            final int index = i++;
+            futures[index] = CompletableFuture.runAsync(() -> results[index] = convertToEmojiSpans(text), executor);
+        }
+        return CompletableFuture.allOf(futures)
+                .thenApply(v -> Collections.unmodifiableList(Arrays.asList(results)));
     }
 
     private static Text getTextNode(String text) {
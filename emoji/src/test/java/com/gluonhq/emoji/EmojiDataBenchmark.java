@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the time it takes to create the emojis at startup, from the csv file
+ * and from the binary index. It is not run with the tests, run its main method instead.
+ */
+public class EmojiDataBenchmark {
+
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    public static void main(String[] args) {
+        System.out.println("First run (cold start):");
+        run("csv", 1, EmojiDataBenchmark::readCSV);
+        run("index", 1, EmojiDataBenchmark::readIndex);
+
+        run("csv", WARMUP, EmojiDataBenchmark::readCSV);
+        run("index", WARMUP, EmojiDataBenchmark::readIndex);
+        System.out.println("After warmup:");
+        run("csv", ITERATIONS, EmojiDataBenchmark::readCSV);
+        run("index", ITERATIONS, EmojiDataBenchmark::readIndex);
+    }
+
+    private static void run(String name, int iterations, Supplier<List<Emoji>> supplier) {
+        long start = System.nanoTime();
+        int count = 0;
+        for (int i = 0; i < iterations; i++) {
+            count += supplier.get().size();
+        }
+        long time = (System.nanoTime() - start) / iterations;
+        System.out.printf("  %-6s %8.3f ms (%d emojis)%n", name, time / 1e6, count / iterations);
+    }
+
+    private static List<Emoji> readCSV() {
+        try (InputStream stream = EmojiData.class.getResourceAsStream("emoji.csv")) {
+            return EmojiData.readCSV(stream);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<Emoji> readIndex() {
+        try (InputStream stream = EmojiData.class.getResourceAsStream("emoji.idx")) {
+            return EmojiData.readIndex(stream).emojis();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -27,14 +27,37 @@
  */
 package com.gluonhq.emoji;
 
+import com.gluonhq.emoji.util.TextUtils;
+import javafx.scene.image.Image;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.gluonhq.emoji.EmojiData.categories;
+import static com.gluonhq.emoji.EmojiData.complete;
 import static com.gluonhq.emoji.EmojiData.copyEmoji;
 import static com.gluonhq.emoji.EmojiData.emojiForText;
 import static com.gluonhq.emoji.EmojiData.emojiFromCategory;
@@ -47,11 +70,17 @@ import static com.gluonhq.emoji.EmojiData.emojiWithoutTone;
 import static com.gluonhq.emoji.EmojiData.getEmojiCollection;
 import static com.gluonhq.emoji.EmojiData.search;
 import static com.gluonhq.emoji.EmojiData.shortNamesSet;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 public class EmojiDataTest {
 
@@ -97,6 +126,16 @@ public class EmojiDataTest {
         assertEquals("\uD83D\uDC4B", emoji.character());
     }
 
+    @Test
+    public void emojiFromNonQualifiedUnicodeTest() {
+        Optional<Emoji> relaxed = emojiFromUnicodeString("\u263A");
+        assertTrue(relaxed.isPresent());
+        Emoji emoji = assertDoesNotThrow(relaxed::get);
+        assertEquals("263A-FE0F", emoji.getUnified());
+        assertEquals(emoji, emojiFromUnicodeString("\u263A\uFE0F").orElseThrow());
+        assertTrue(emojiFromUnicodeString("\u263A\u263A").isEmpty());
+    }
+
     @Test
     public void emojiFromCodepointsTest() {
         Optional<Emoji> wavingHands = emojiFromCodepoints("1F44B");
@@ -158,6 +197,29 @@ public class EmojiDataTest {
         assertTrue(emptyList.isEmpty());
     }
 
+    @Test
+    public void categoryIndexTest() {
+        for (EmojiCategory category : EmojiCategory.values()) {
+            List<Emoji> expected = getEmojiCollection().stream()
+                    .filter(e -> category.categoryName().contains(e.getCategory()))
+                    .sorted(Comparator.comparingInt(Emoji::getSortOrder))
+                    .collect(Collectors.toList());
+            assertEquals(expected, category.getEmojis());
+            assertEquals(category.getEmojis(), emojiFromCategory(category.categoryName()));
+            assertEquals(expected.stream().map(Emoji::getSubcategory).distinct().collect(Collectors.toList()),
+                    category.getSubcategories());
+            assertThrows(UnsupportedOperationException.class, () -> category.getEmojis().clear());
+        }
+        assertEquals(List.of("animal-mammal", "animal-bird"), EmojiCategory.NATURE.getSubcategories().subList(0, 2));
+        List<Emoji> mammals = EmojiData.emojiFromSubcategory("animal-mammal");
+        assertTrue(mammals.contains(emojiFromShortName("cat").orElseThrow()));
+        mammals.forEach(e -> assertEquals("animal-mammal", e.getSubcategory()));
+        assertTrue(EmojiData.emojiFromSubcategory("unknown").isEmpty());
+        assertEquals(emojiFromCategory("People & Body").size() + emojiFromCategory("Smileys & Emotion").size(),
+                emojiFromCategory("People & Body and Smileys & Emotion").size());
+        assertEquals(categories(), getEmojiCollection().stream().map(Emoji::getCategory).collect(Collectors.toSet()));
+    }
+
     @Test
     public void searchTest() {
         List<Emoji> emojiList = search("wales");
@@ -165,6 +227,143 @@ public class EmojiDataTest {
         assertTrue(emojiList.size() == 1);
         List<Emoji> emptyList = search("nothing");
         assertTrue(emptyList.isEmpty());
+        // the results are mutable lists, found or not
+        emojiList.add(emojiList.remove(0));
+        emptyList.add(emojiList.get(0));
+        search("xyz").add(emojiList.get(0));
+    }
+
+    @Test
+    public void searchRankingTest() {
+        List<Emoji> smile = search("smile");
+        assertEquals("smile", smile.get(0).getShortName());
+        assertEquals(Set.copyOf(smile).size(), smile.size());
+        assertEquals(search("SMILE"), smile);
+
+        for (String query : List.of("smile", "heart eyes", "cat face", "sm", "e", "flag-", "1f3fb", "wave:1f3", "wave  hand", "zzzzz", "")) {
+            String[] words = Stream.of(query.split(" ")).filter(w -> !w.isEmpty()).toArray(String[]::new);
+            List<Emoji> expected = shortNamesSet().stream()
+                    .filter(key -> Stream.of(words).allMatch(key.toLowerCase()::contains))
+                    .sorted(Comparator.<String>comparingInt(key -> Stream.of(words).anyMatch(key.toLowerCase()::equals) ? 0 :
+                                    Stream.of(words).anyMatch(key.toLowerCase()::startsWith) ? 1 : 2)
+                            .thenComparingInt(key -> emojiFromShortName(key).orElseThrow().getSortOrder())
+                            .thenComparing(key -> key))
+                    .map(key -> emojiFromShortName(key).orElseThrow())
+                    .collect(Collectors.toList());
+            assertEquals(expected, search(query), query);
+        }
+    }
+
+    @Test
+    public void completeTest() {
+        assertTrue(complete("smile", 8).getEmojis().contains(emojiFromShortName("smile").orElseThrow()));
+        EmojiCompletion previous = null;
+        String typed = "";
+        for (char c : "face_with".toCharArray()) {
+            typed += c;
+            String prefix = typed;
+            for (int limit : new int[] {0, 1, 8, 5000}) {
+                List<Emoji> expected = getEmojiCollection().stream()
+                        .filter(e -> EmojiData.getEmojiColumns().parentId(e.getId()) == EmojiColumns.NO_PARENT)
+                        .filter(e -> e.getShortNameList().stream().anyMatch(name -> name.startsWith(prefix)))
+                        .limit(limit)
+                        .collect(Collectors.toList());
+                assertEquals(expected, complete(prefix, limit).getEmojis(), prefix);
+                assertEquals(expected, complete(prefix.toUpperCase(), limit, previous).getEmojis(), prefix);
+            }
+            previous = complete(prefix, 8, previous);
+        }
+        // the previous completion doesn't apply to a different prefix
+        assertEquals(complete("cat", 8).getEmojis(), complete("cat", 8, previous).getEmojis());
+        assertTrue(complete("zzzzz", 8, previous).getEmojis().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> complete("a", -1));
+    }
+
+    @Test
+    public void fuzzySearchTest() {
+        assertTrue(EmojiData.fuzzySearch("thumsup").contains(emojiFromShortName("+1").orElseThrow()));
+        assertEquals("heart", EmojiData.fuzzySearch("hart").get(0).getShortName());
+        assertEquals("smile", EmojiData.fuzzySearch("Smile", 0).get(0).getShortName());
+
+        for (String query : List.of("thumsup", "hart", "smiel", "cat", "grining face", "zzzzzzz", "")) {
+            for (int distance = 0; distance <= 2; distance++) {
+                int maxDistance = distance;
+                Map<Emoji, Integer> best = new HashMap<>();
+                for (Emoji emoji : getEmojiCollection()) {
+                    if (EmojiData.getEmojiColumns().parentId(emoji.getId()) != EmojiColumns.NO_PARENT) {
+                        continue;
+                    }
+                    for (String term : Stream.concat(emoji.getShortNameList().stream(), Stream.of(emoji.getName()))
+                            .collect(Collectors.toList())) {
+                        int d = levenshtein(query, term.toLowerCase());
+                        if (d <= maxDistance) {
+                            best.merge(emoji, d, Math::min);
+                        }
+                    }
+                }
+                List<Emoji> expected = best.keySet().stream()
+                        .sorted(Comparator.<Emoji>comparingInt(best::get).thenComparingInt(Emoji::getId))
+                        .collect(Collectors.toList());
+                assertEquals(expected, EmojiData.fuzzySearch(query, maxDistance), query + " " + maxDistance);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> EmojiData.fuzzySearch("a", 4));
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                d[i][j] = i == 0 ? j : j == 0 ? i : Math.min(Math.min(d[i - 1][j], d[i][j - 1]) + 1,
+                        d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    @Test
+    public void scoredSearchTest() {
+        List<EmojiSearchResult> joy = EmojiData.scoredSearch("joy");
+        assertEquals("joy", joy.get(0).getEmoji().getShortName());
+        for (int i = 1; i < joy.size(); i++) {
+            assertTrue(joy.get(i - 1).getScore() >= joy.get(i).getScore());
+        }
+        assertEquals("joy", EmojiData.scoredSearch("Tears JOY").get(0).getEmoji().getShortName());
+
+        List<EmojiSearchResult> smiley = EmojiData.scoredSearch(":)");
+        assertFalse(smiley.isEmpty());
+        smiley.forEach(r -> assertTrue(":)".equals(r.getEmoji().getText()) ||
+                (r.getEmoji().getTextList() != null && r.getEmoji().getTextList().contains(":)"))));
+
+        List<Emoji> mammals = getEmojiCollection().stream()
+                .filter(e -> EmojiData.getEmojiColumns().parentId(e.getId()) == EmojiColumns.NO_PARENT)
+                .filter(e -> "animal-mammal".equals(e.getSubcategory()))
+                .collect(Collectors.toList());
+        List<EmojiSearchResult> filtered = EmojiData.scoredSearch("subcategory:animal-mammal");
+        assertEquals(mammals, filtered.stream().map(EmojiSearchResult::getEmoji).collect(Collectors.toList()));
+        filtered.forEach(r -> assertEquals(0, r.getScore()));
+        List<EmojiSearchResult> cats = EmojiData.scoredSearch("cat subcategory:animal-mammal");
+        assertEquals("cat", cats.get(0).getEmoji().getShortName());
+        cats.forEach(r -> assertTrue(mammals.contains(r.getEmoji())));
+        // filters match the whole subcategory
+        assertTrue(EmojiData.scoredSearch("subcategory:face").isEmpty());
+        assertTrue(EmojiData.scoredSearch("subcategory:animal").isEmpty());
+        EmojiData.scoredSearch("grinning subcategory:Face-Smiling")
+                .forEach(r -> assertEquals("face-smiling", r.getEmoji().getSubcategory()));
+        EmojiData.scoredSearch("text::)").forEach(r -> assertEquals(0, r.getScore()));
+        assertFalse(EmojiData.scoredSearch("text::)").isEmpty());
+
+        // without aliases, the shortName is searched
+        Emoji emoji = new Emoji();
+        emoji.setUnified("1F44B");
+        emoji.setShortName("waving_hand");
+        emoji.setCategory("People & Body");
+        EmojiFieldIndex index = new EmojiFieldIndex(new EmojiColumns(List.of(emoji)));
+        assertEquals(List.of(emoji), index.search("wav").stream().map(EmojiSearchResult::getEmoji).collect(Collectors.toList()));
+
+        EmojiData.scoredSearch("name:grinning").forEach(r -> assertTrue(r.getEmoji().getName().contains("GRINNING")));
+        assertTrue(EmojiData.scoredSearch("").isEmpty());
+        assertTrue(EmojiData.scoredSearch("zzzzz").isEmpty());
     }
 
     @Test
@@ -249,4 +448,326 @@ public class EmojiDataTest {
         assertEquals("1F91D", emoji.getUnified());
         assertFalse(emoji.getSkinVariationMap().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void codePointsTest() {
+        for (Emoji emoji : getEmojiCollection()) {
+            String[] parts = emoji.getUnified().split("-");
+            assertEquals(parts.length, emoji.codePointCount());
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                assertEquals(Integer.parseInt(parts[i], 16), emoji.codePointAt(i));
+                sb.appendCodePoint(emoji.codePointAt(i));
+            }
+            assertEquals(sb.toString(), emoji.character());
+            assertSame(emoji.character(), emoji.character());
+        }
+        Emoji emoji = new Emoji();
+        assertNull(emoji.character());
+        assertEquals(0, emoji.codePointCount());
+        emoji.setUnified("1F44B-1F3FC");
+        assertEquals("\uD83D\uDC4B\uD83C\uDFFC", emoji.character());
+        assertArrayEquals(new int[] {0x1F44B, 0x1F3FC}, emoji.getCodePoints());
+        emoji.getCodePoints()[0] = 0;
+        assertEquals(0x1F44B, emoji.codePointAt(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> emoji.codePointAt(2));
+
+        // invalid values are set, without codepoints
+        Emoji invalid = new Emoji();
+        invalid.setUnified("1F44B-XYZ");
+        assertEquals("1F44B-XYZ", invalid.getUnified());
+        assertNull(invalid.character());
+        assertEquals(0, invalid.codePointCount());
+        Emoji outOfRange = new Emoji();
+        outOfRange.setUnified("110000");
+        assertNull(outOfRange.character());
+
+        // the image is independent of the unified value
+        Emoji other = new Emoji();
+        other.setImage("1f44b.png");
+        other.setUnified("1F44B");
+        assertEquals("1f44b.png", other.getImage());
+        other.setImage(null);
+        assertNull(other.getImage());
+        other.setImage("1f44b-1f3fc.png");
+        assertEquals("1f44b-1f3fc.png", other.getImage());
+        other.setImage("1f44b.png");
+        other.setUnified("1F44B-1F3FC");
+        assertEquals("1f44b.png", other.getImage());
+        other.setUnified(null);
+        assertEquals("1f44b.png", other.getImage());
+    }
+
+    @Test
+    public void emojiEqualityTest() {
+        Emoji emoji = emojiFromShortName("wave").orElseThrow();
+        Emoji copy = copyEmoji(emoji);
+        assertEquals(emoji, copy);
+        assertEquals(emoji.hashCode(), copy.hashCode());
+        copy.setName("another name");
+        copy.setSortOrder(-1);
+        assertEquals(emoji, copy);
+        assertEquals(emoji.hashCode(), copy.hashCode());
+        assertNotEquals(emoji, emojiFromShortName("smile").orElseThrow());
+        // emojis without unified value are only equal to themselves
+        Emoji empty = new Emoji();
+        assertEquals(empty, empty);
+        assertNotEquals(new Emoji(), empty);
+        assertEquals(2, Set.of(empty, new Emoji()).size());
+
+        // the unified value can be set again
+        copy.setUnified("1F604");
+        assertEquals(emojiFromShortName("smile").orElseThrow(), copy);
+        assertEquals("1F604", copy.getUnified());
+    }
+
+    @Test
+    public void emojiColumnsTest() {
+        EmojiColumns columns = EmojiData.getEmojiColumns();
+        assertEquals(getEmojiCollection().size(), columns.size());
+        int id = 0;
+        for (Emoji emoji : getEmojiCollection()) {
+            assertEquals(id, emoji.getId());
+            assertSame(emoji, EmojiData.emojiForId(id));
+            assertEquals(emoji.getSheetX(), columns.sheetX(id));
+            assertEquals(emoji.getSheetY(), columns.sheetY(id));
+            assertEquals(emoji.getSortOrder(), columns.sortOrder(id));
+            if (id > 0) {
+                assertTrue(columns.sortOrder(id - 1) <= columns.sortOrder(id));
+            }
+            int parent = columns.parentId(id);
+            if (parent == EmojiColumns.NO_PARENT) {
+                assertEquals(EmojiSkinTone.NO_SKIN_TONE.ordinal(), columns.toneOrdinal(id));
+            } else {
+                assertSame(emoji, emojiWithTone(columns.emoji(parent),
+                        EmojiSkinTone.values()[columns.toneOrdinal(id)],
+                        EmojiSkinTone.values()[columns.secondToneOrdinal(id)]));
+            }
+            id++;
+        }
+
+        Emoji wave = emojiFromShortName("wave").orElseThrow();
+        Emoji waveTone = emojiWithTone(wave, EmojiSkinTone.MEDIUM_LIGHT_SKIN_TONE);
+        assertEquals(EmojiCategory.SMILEYS_PEOPLE.ordinal(), columns.categoryOrdinal(wave.getId()));
+        assertEquals(wave.getId(), columns.parentId(waveTone.getId()));
+        assertEquals(EmojiSkinTone.MEDIUM_LIGHT_SKIN_TONE.ordinal(), columns.toneOrdinal(waveTone.getId()));
+        assertEquals(EmojiCategory.FLAGS.ordinal(), columns.categoryOrdinal(emojiFromShortName("es").orElseThrow().getId()));
+        assertEquals(EmojiColumns.NO_CATEGORY, columns.categoryOrdinal(emojiFromShortName("skin-tone-2").orElseThrow().getId()));
+        assertEquals(wave.getId(), TextUtils.convertToEmojiSpans("hi \uD83D\uDC4B").emojiId(1));
+    }
+
+    @Test
+    public void emojiIndexTest() throws IOException {
+        List<Emoji> csvEmojis;
+        try (InputStream stream = EmojiData.class.getResourceAsStream("emoji.csv")) {
+            csvEmojis = EmojiData.readCSV(stream);
+        }
+        EmojiIndex index;
+        try (InputStream stream = EmojiData.class.getResourceAsStream("emoji.idx")) {
+            index = EmojiData.readIndex(stream);
+        }
+        List<Emoji> indexEmojis = index.emojis();
+        assertEquals(1875, indexEmojis.size());
+        // equals only compares the unified value, so compare all the fields
+        assertEquals(csvEmojis.toString(), indexEmojis.toString());
+
+        // the precomputed hash tables find every emoji, skin variations included
+        assertEquals(3660, index.shortNameTable().size());
+        assertEquals(3660, index.unifiedTable().size());
+        for (Emoji emoji : indexEmojis) {
+            assertSame(emoji, index.shortNameTable().get(emoji.getShortName()));
+            assertSame(emoji, index.unifiedTable().get(emoji.getUnified()));
+            for (Emoji skin : emoji.getSkinVariationMap().values()) {
+                assertSame(skin, index.shortNameTable().get(skin.getShortName()));
+                assertSame(skin, index.unifiedTable().get(skin.getUnified()));
+            }
+        }
+        assertNull(index.shortNameTable().get("not-an-emoji"));
+        assertEquals(index.shortNameTable().keySet(), EmojiData.shortNamesSet());
+        assertThrows(IOException.class, () -> EmojiData.readIndex(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+
+        // a table without empty slots is rejected, instead of looping forever on lookups
+        byte[] bytes;
+        try (InputStream stream = EmojiData.class.getResourceAsStream("emoji.idx")) {
+            bytes = stream.readAllBytes();
+        }
+        int capacity = EmojiHashTable.capacity(3660);
+        for (int i = bytes.length - 4 * capacity; i < bytes.length - 2 * capacity; i += 2) {
+            bytes[i] = 0;
+            bytes[i + 1] = 1;
+        }
+        assertThrows(IOException.class, () -> EmojiData.readIndex(new ByteArrayInputStream(bytes)));
+
+        // loaders with their own csv file don't use the bundled index
+        EmojiSpriteLoader loader = new EmojiSpriteLoader() {
+            @Override
+            public boolean isInitialized() {
+                return true;
+            }
+
+            @Override
+            public CompletableFuture<Boolean> initialize() {
+                return CompletableFuture.completedFuture(true);
+            }
+
+            @Override
+            public Image loadEmojiSprite(int size) {
+                return null;
+            }
+
+            @Override
+            public InputStream loadCSV() {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+        };
+        assertNull(loader.loadIndex());
+        try (InputStream stream = new DownloadableEmojiSpriteLoader().loadIndex()) {
+            assertEquals(3660, EmojiData.readIndex(stream).unifiedTable().size());
+        }
+    }
+
+    @Test
+    public void preloadTest() throws Exception {
+        EmojiData.preload(ForkJoinPool.commonPool()).get(10, TimeUnit.SECONDS);
+        assertTrue(EmojiData.isLoaded());
+        assertTrue(EmojiData.getLoadingError().isEmpty());
+        // already loaded, so it doesn't run anything
+        assertTrue(EmojiData.preload(r -> fail("Emojis loaded twice")).isDone());
+        EmojiData.setLoadingPolicy(EmojiData.LoadingPolicy.FAIL_FAST);
+        try {
+            assertTrue(emojiFromShortName("wave").isPresent());
+        } finally {
+            EmojiData.setLoadingPolicy(EmojiData.LoadingPolicy.AWAIT);
+        }
+    }
+
+    @Test
+    public void failFastTokenizeTest() throws Exception {
+        // a fresh copy of the library classes, where the emojis are not loaded yet
+        URL classes = EmojiData.class.getProtectionDomain().getCodeSource().getLocation();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] {classes}, EmojiDataTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.startsWith("com.gluonhq.emoji.")) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> clazz = findLoadedClass(name);
+                    return clazz != null ? clazz : findClass(name);
+                }
+            }
+        }) {
+            Class<?> data = loader.loadClass(EmojiData.class.getName());
+            Class<?> policy = loader.loadClass(EmojiData.LoadingPolicy.class.getName());
+            data.getMethod("setLoadingPolicy", policy).invoke(null, policy.getMethod("valueOf", String.class).invoke(null, "FAIL_FAST"));
+            Method containsEmoji = loader.loadClass(TextUtils.class.getName()).getMethod("containsEmoji", CharSequence.class);
+
+            // fails while the emojis are not loaded, and again on the next call, instead of a NoClassDefFoundError
+            for (int i = 0; i < 2; i++) {
+                InvocationTargetException ex = assertThrows(InvocationTargetException.class,
+                        () -> containsEmoji.invoke(null, "hi \uD83D\uDC4B"));
+                assertEquals(IllegalStateException.class, ex.getCause().getClass());
+            }
+
+            Executor executor = Runnable::run;
+            ((CompletableFuture<?>) data.getMethod("preload", Executor.class).invoke(null, executor)).get(10, TimeUnit.SECONDS);
+            assertEquals(true, containsEmoji.invoke(null, "hi \uD83D\uDC4B"));
+        }
+    }
+
+    @Test
+    public void csvParserTest() {
+        String csv = "HASH KEY#0023-FE0F-20E3#0023-20E3#E6E0#EB84#E210#FE82C#0023-fe0f-20e3.png#0#0#hash#hash!###Symbols#keycap#1521#0.6#true#true#true#false####\n" +
+                "WAVING HAND SIGN#1F44B###E41E#E41E#FEB5D#1f44b.png#31#22#wave#wave!###People & Body#hand-fingers-open#170#0.6#true#true#true#true#" +
+                "1F3FB,1F44B-1F3FB,,1f44b-1f3fb.png,31,23,1.0,true,true,true,true!1F3FC,1F44B-1F3FC,,1f44b-1f3fc.png,31,24,1.0,true,true,true,true!###";
+        EmojiCSVParser parser = new EmojiCSVParser();
+        int lineEnd = csv.indexOf('\n');
+        Emoji hash = parser.parse(csv, 0, lineEnd);
+        Emoji wave = parser.parse(csv, lineEnd + 1, csv.length());
+        assertEquals(emojiFromShortName("hash").orElseThrow().getCategory(), hash.getCategory());
+        assertEquals(List.of("hash"), hash.getShortNameList());
+        assertNull(hash.getTextList());
+        assertEquals("1F44B", wave.getUnified());
+        assertNull(wave.getNonQualified());
+        assertEquals(2, wave.getSkinVariationMap().size());
+        Emoji tone = wave.getSkinVariationMap().get("1F3FC");
+        assertEquals("WAVING HAND SIGN:MEDIUM LIGHT SKIN TONE", tone.getName());
+        assertEquals("wave:1F3FC", tone.getShortName());
+        assertEquals(24, tone.getSheetY());
+        assertTrue(tone.hasImgFacebook());
+        // repeated values are shared
+        assertSame(hash.getAddedIn(), wave.getAddedIn());
+        assertSame(wave.getSkinVariationMap().get("1F3FB").getAddedIn(), tone.getAddedIn());
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("HASH KEY#0023", 0, 13));
+    }
+
+    @Test
+    public void footprintTest() throws IOException {
+        List<Emoji> csvEmojis;
+        try (InputStream stream = EmojiData.class.getResourceAsStream("emoji.csv")) {
+            csvEmojis = EmojiData.readCSV(stream);
+        }
+        for (Collection<Emoji> emojis : List.of(getEmojiCollection(), csvEmojis)) {
+            // one instance per distinct value, shared by all the emojis and their skin variations
+            Map<String, String> shared = new HashMap<>();
+            for (Emoji emoji : emojis) {
+                assertShared(shared, emoji);
+                if (emoji.getSkinVariationMap() != null) {
+                    emoji.getSkinVariationMap().values().forEach(skin -> assertShared(shared, skin));
+                }
+                assertNotEquals(ArrayList.class, emoji.getShortNameList().getClass());
+            }
+            assertTrue(shared.containsKey("Smileys & Emotion"));
+        }
+
+        // estimated footprint of the metadata of all the emojis, including skin variations, with a
+        // copy of each value per emoji, an image name per emoji and lists with the default capacity,
+        // against the shared values and compact lists
+        Collection<Emoji> all = getEmojiCollection();
+        Set<String> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        long before = 0;
+        long after = 0;
+        for (Emoji emoji : all) {
+            for (String value : new String[] {emoji.getCategory(), emoji.getSubcategory(), emoji.getAddedIn()}) {
+                before += stringSize(value);
+                if (value != null && distinct.add(value)) {
+                    after += stringSize(value);
+                }
+            }
+            // the default image name is only created when it is needed
+            before += stringSize(emoji.getUnified().toLowerCase() + ".png");
+            before += arrayListSize(emoji.getShortNameList()) + arrayListSize(emoji.getTextList());
+            after += listSize(emoji.getShortNameList()) + listSize(emoji.getTextList());
+        }
+        Logger.getLogger(EmojiDataTest.class.getName()).info(String.format(
+                "Estimated metadata footprint of %d emojis: %d KB before, %d KB after",
+                all.size(), before / 1024, after / 1024));
+        assertTrue(after < before / 2);
+    }
+
+    private static void assertShared(Map<String, String> shared, Emoji emoji) {
+        for (String value : new String[] {emoji.getCategory(), emoji.getSubcategory(), emoji.getAddedIn()}) {
+            if (value != null) {
+                assertSame(shared.computeIfAbsent(value, v -> value), value);
+            }
+        }
+    }
+
+    // rough sizes with compressed oops and 8-byte alignment, for latin-1 strings
+    private static long stringSize(String value) {
+        return value == null ? 0 : 24 + align(16 + value.length());
+    }
+
+    private static long arrayListSize(List<String> list) {
+        return list == null ? 0 : 24 + align(16 + 4L * Math.max(10, list.size()));
+    }
+
+    private static long listSize(List<String> list) {
+        return list == null ? 0 : list.size() <= 2 ? 24 : 16 + align(16 + 4L * list.size());
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the time it takes to build the search indexes and to run typical queries,
+ * as typed in a search box. It is not run with the tests, run its main method instead.
+ */
+public class EmojiSearchBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+    private static final List<String> QUERIES = List.of("s", "sm", "smi", "smil", "smile", "heart eyes", "flag", "cat face", "zzz",
+            "thumsup", "hart", "smiel");
+
+    public static void main(String[] args) {
+        Map<String, Emoji> shortNameMap = new HashMap<>();
+        EmojiData.getEmojiCollection().forEach(e -> shortNameMap.put(e.getShortName(), e));
+
+        build("trigram index", () -> new EmojiSearchIndex(shortNameMap));
+        build("prefix index", () -> new EmojiPrefixIndex(EmojiData.getEmojiColumns()));
+        long start = System.nanoTime();
+        new EmojiFuzzyIndex(EmojiData.getEmojiColumns());
+        System.out.printf("Build %-20s %8.3f ms (first time)%n", "fuzzy index", (System.nanoTime() - start) / 1e6);
+        build("fuzzy index", () -> new EmojiFuzzyIndex(EmojiData.getEmojiColumns()));
+        build("field index", () -> new EmojiFieldIndex(EmojiData.getEmojiColumns()));
+
+        query("search", EmojiData::search);
+        query("complete", prefix -> EmojiData.complete(prefix, 10).getEmojis());
+        completeTyping("face_with_tears");
+        query("fuzzy", EmojiData::fuzzySearch);
+        query("scored", query -> EmojiData.scoredSearch(query).stream()
+                .map(EmojiSearchResult::getEmoji)
+                .collect(Collectors.toList()));
+        query("filtered", query -> EmojiData.scoredSearch(query + " subcategory:face-smiling").stream()
+                .map(EmojiSearchResult::getEmoji)
+                .collect(Collectors.toList()));
+    }
+
+    private static void build(String name, Runnable builder) {
+        for (int i = 0; i < 200; i++) {
+            builder.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            builder.run();
+        }
+        System.out.printf("Build %-20s %8.3f ms%n", name, (System.nanoTime() - start) / 200 / 1e6);
+    }
+
+    private static void completeTyping(String text) {
+        for (int i = 0; i < WARMUP; i++) {
+            typing(text, false);
+            typing(text, true);
+        }
+        for (boolean incremental : new boolean[] {false, true}) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                typing(text, incremental);
+            }
+            long time = (System.nanoTime() - start) / ITERATIONS / text.length();
+            System.out.printf("  complete   typing %s %8.2f us per char%n", incremental ? "incremental" : "from scratch", time / 1e3);
+        }
+    }
+
+    private static void typing(String text, boolean incremental) {
+        EmojiCompletion completion = null;
+        for (int i = 1; i <= text.length(); i++) {
+            completion = EmojiData.complete(text.substring(0, i), 10, incremental ? completion : null);
+        }
+    }
+
+    private static void query(String name, Function<String, List<Emoji>> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            QUERIES.forEach(search::apply);
+        }
+        for (String query : QUERIES) {
+            long start = System.nanoTime();
+            int count = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                count += search.apply(query).size();
+            }
+            long time = (System.nanoTime() - start) / ITERATIONS;
+            System.out.printf("  %-10s %-28s %8.2f us (%d results)%n", name, "\"" + query + "\"", time / 1e3, count / ITERATIONS);
+        }
+    }
+}
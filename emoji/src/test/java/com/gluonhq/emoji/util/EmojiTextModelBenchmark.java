@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.util;
+
+/**
+ * Measures the time it takes to apply an edit to an {@link EmojiTextModel}, as typed
+ * in the middle of documents of growing sizes, compared to tokenizing the whole text
+ * again, and for long plain text documents, compared to the same edits on a bare
+ * {@link StringBuilder}. It is not run with the tests, run its main method instead.
+ */
+public class EmojiTextModelBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 20_000;
+    private static final String LINE = "Some text with an emoji \uD83D\uDC4B\uD83C\uDFFC and a flag \uD83C\uDDEA\uD83C\uDDF8\n";
+
+    public static void main(String[] args) {
+        for (int lines : new int[] {10, 1_000, 100_000}) {
+            String text = LINE.repeat(lines);
+            typing(text, WARMUP);
+            long start = System.nanoTime();
+            int segments = typing(text, ITERATIONS);
+            System.out.printf("Model with %7d segments %8.2f us per edit%n", segments,
+                    (System.nanoTime() - start) / ITERATIONS / 1e3);
+
+            int count = Math.max(10, ITERATIONS / lines);
+            for (int i = 0; i < count; i++) {
+                EmojiSpans.of(text);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                EmojiSpans.of(text);
+            }
+            System.out.printf("Spans of %9d chars   %8.2f us per edit%n", text.length(),
+                    (System.nanoTime() - start) / count / 1e3);
+        }
+
+        for (int length : new int[] {1_000, 1_000_000, 4_000_000}) {
+            String text = "a".repeat(length);
+            typing(text, WARMUP);
+            long start = System.nanoTime();
+            int segments = typing(text, ITERATIONS);
+            System.out.printf("Plain text of %9d chars, %5d segments %8.2f us per edit%n", length, segments,
+                    (System.nanoTime() - start) / ITERATIONS / 1e3);
+
+            typingBuilder(text, WARMUP);
+            start = System.nanoTime();
+            typingBuilder(text, ITERATIONS);
+            System.out.printf("StringBuilder of %9d chars            %8.2f us per edit%n", length,
+                    (System.nanoTime() - start) / ITERATIONS / 1e3);
+        }
+    }
+
+    /**
+     * Types characters and emojis in the middle of the text, deleting the emojis
+     * right after typing them
+     */
+    private static int typing(String text, int edits) {
+        EmojiTextModel model = new EmojiTextModel(text);
+        int caret = text.length() / 2;
+        for (int i = 0; i < edits; i++) {
+            switch (i % 8) {
+                case 3:
+                    model.replace(caret, 0, "\uD83D\uDE00");
+                    caret += 2;
+                    break;
+                case 4:
+                    caret -= 2;
+                    model.replace(caret, 2, "");
+                    break;
+                default:
+                    model.replace(caret++, 0, "x");
+            }
+        }
+        return model.getSegments().size();
+    }
+
+    /**
+     * Applies the same edits of {@link #typing(String, int)} to a StringBuilder
+     */
+    private static int typingBuilder(String text, int edits) {
+        StringBuilder builder = new StringBuilder(text);
+        int caret = text.length() / 2;
+        for (int i = 0; i < edits; i++) {
+            switch (i % 8) {
+                case 3:
+                    builder.insert(caret, "\uD83D\uDE00");
+                    caret += 2;
+                    break;
+                case 4:
+                    caret -= 2;
+                    builder.delete(caret, caret + 2);
+                    break;
+                default:
+                    builder.insert(caret++, "x");
+            }
+        }
+        return builder.length();
+    }
+}
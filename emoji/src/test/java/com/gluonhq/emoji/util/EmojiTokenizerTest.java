@@ -0,0 +1,330 @@
+package com.gluonhq.emoji.util;
+
+import com.gluonhq.emoji.Emoji;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmojiTokenizerTest {
+
+    @Test
+    public void findEmojisTest() {
+        StringBuilder text = new StringBuilder("hi 👋🏼, 😄!");
+        EmojiTokenizer tokenizer = new EmojiTokenizer().reset(text);
+        assertTrue(tokenizer.find());
+        assertEquals(3, tokenizer.start());
+        assertEquals(7, tokenizer.end());
+        assertEquals("1F44B-1F3FC", tokenizer.emoji().getUnified());
+        assertTrue(tokenizer.find());
+        assertEquals(9, tokenizer.start());
+        assertEquals(11, tokenizer.end());
+        assertEquals("1F604", tokenizer.emoji().getUnified());
+        assertFalse(tokenizer.find());
+        assertThrows(IllegalStateException.class, tokenizer::emoji);
+
+        // surrogate pairs split at the end of the region are not read past it
+        assertFalse(tokenizer.reset(text, 3, 4).find());
+        assertTrue(tokenizer.reset(text, 3, 6).find());
+        assertEquals(5, tokenizer.end());
+        assertEquals("1F44B", tokenizer.emoji().getUnified());
+    }
+
+    @Test
+    public void reuseTokenizerTest() {
+        EmojiTokenizer tokenizer = new EmojiTokenizer();
+        assertFalse(tokenizer.reset("no emojis here").find());
+        assertTrue(tokenizer.reset("😄").find());
+        assertEquals("1F604", tokenizer.emoji().getUnified());
+        assertFalse(tokenizer.find());
+    }
+
+    @Test
+    public void streamTokenizerTest() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("text ").append(i).append(' ');
+            sb.append("\uD83E\uDDD1\uD83C\uDFFC\u200D\uD83E\uDD1D\u200D\uD83E\uDDD1\uD83C\uDFFD");
+            sb.append("\uD83C\uDFF4\uDB40\uDC67\uDB40\uDC62\uDB40\uDC73\uDB40\uDC63\uDB40\uDC74\uDB40\uDC7F");
+        }
+        String text = sb.toString();
+        List<Object> expected = TextUtils.convertToStringAndEmojiObjects(text);
+
+        for (Readable input : List.of(new StringReader(text), CharBuffer.wrap(text))) {
+            List<Object> list = new ArrayList<>();
+            StringBuilder pending = new StringBuilder();
+            long[] position = new long[1];
+            new EmojiStreamTokenizer(100).tokenize(input, new EmojiStreamTokenizer.Listener() {
+                @Override
+                public void onText(CharSequence chunk, long offset) {
+                    assertEquals(position[0], offset);
+                    assertEquals(text.substring((int) offset, (int) offset + chunk.length()), chunk.toString());
+                    pending.append(chunk);
+                    position[0] += chunk.length();
+                }
+
+                @Override
+                public void onEmoji(Emoji emoji, long offset, int length) {
+                    assertEquals(position[0], offset);
+                    assertEquals(emoji.character(), text.substring((int) offset, (int) offset + length));
+                    if (pending.length() > 0) {
+                        list.add(pending.toString());
+                        pending.setLength(0);
+                    }
+                    list.add(emoji);
+                    position[0] += length;
+                }
+            });
+            if (pending.length() > 0) {
+                list.add(pending.toString());
+            }
+            assertEquals(text.length(), position[0]);
+            assertEquals(expected, list);
+        }
+    }
+
+    @Test
+    public void streamTokenizerSmallReadsTest() throws IOException {
+        String text = "text \uD83D\uDC4B\uD83C\uDFFC ".repeat(500);
+        // returns at most 3 chars per read
+        Readable input = new Readable() {
+            private int position;
+
+            @Override
+            public int read(CharBuffer cb) {
+                if (position == text.length()) {
+                    return -1;
+                }
+                int count = Math.min(Math.min(3, cb.remaining()), text.length() - position);
+                cb.put(text, position, position + count);
+                position += count;
+                return count;
+            }
+        };
+        StringBuilder sb = new StringBuilder();
+        int[] textCalls = new int[1];
+        new EmojiStreamTokenizer(1000).tokenize(input, new EmojiStreamTokenizer.Listener() {
+            @Override
+            public void onText(CharSequence chunk, long offset) {
+                textCalls[0]++;
+                sb.append(chunk);
+            }
+
+            @Override
+            public void onEmoji(Emoji emoji, long offset, int length) {
+                sb.append(emoji.character());
+            }
+        });
+        assertEquals(text, sb.toString());
+        // one call per text run, plus a few runs split at the end of each full buffer
+        assertTrue(textCalls[0] <= 500 + text.length() / 900 + 1, "Text calls: " + textCalls[0]);
+    }
+
+    @Test
+    public void byteScannerTest() {
+        String text = "caf\u00E9 \uD83D\uDC4B\uD83C\uDFFC 1\uFE0F\u20E3 \u263A";
+        byte[] bytes = ("xx" + text).getBytes(StandardCharsets.UTF_8);
+        List<String> found = new ArrayList<>();
+        EmojiByteScanner.scan(bytes, 2, bytes.length - 2, (emoji, start, end) -> {
+            assertEquals(emoji.character().replace("\uFE0F", ""),
+                    new String(bytes, start, end - start, StandardCharsets.UTF_8).replace("\uFE0F", ""));
+            found.add(emoji.getUnified());
+        });
+        assertEquals(List.of("1F44B-1F3FC", "0031-FE0F-20E3", "263A-FE0F"), found);
+
+        byte[] malformed = {(byte) 0xF0, (byte) 0x9F, 0x20, (byte) 0xF0, (byte) 0x9F, (byte) 0x98, (byte) 0x84};
+        assertEquals(1, EmojiByteScanner.count(ByteBuffer.wrap(malformed)));
+    }
+
+    @Test
+    public void parallelTokenizerTest() {
+        String[] parts = {"text ", "\uD83D\uDC4B", "\uD83C\uDFFC", "\u200D", "\uD83E\uDDD1", "\uD83C\uDDEA",
+                "\uD83C\uDDF8", "\uFE0F", "1", "\u20E3", "\uD83C\uDFF4", "\uDB40\uDC67", "\uDB40\uDC7F", "\u2764"};
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 200_000) {
+            sb.append(parts[random.nextInt(parts.length)]);
+        }
+        String text = sb.toString();
+        EmojiSpans sequential = TextUtils.convertToEmojiSpans(text);
+        EmojiSpans parallel = TextUtils.convertToEmojiSpans(text, ForkJoinPool.commonPool());
+        assertEquals(sequential.toString(), parallel.toString());
+        assertEquals(TextUtils.convertToStringAndEmojiObjects(text),
+                TextUtils.convertToStringAndEmojiObjects(text, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void emojiSpansCacheTest() {
+        EmojiSpansCache cache = new EmojiSpansCache(2, 10);
+        EmojiSpans spans = cache.get("hi \uD83D\uDE04");
+        assertEquals(TextUtils.convertToEmojiSpans("hi \uD83D\uDE04").toString(), spans.toString());
+        assertSame(spans, cache.get(new String("hi \uD83D\uDE04")));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.get("a");
+        cache.get("b");
+        assertEquals(2, cache.size());
+        assertNotSame(spans, cache.get("hi \uD83D\uDE04"));
+
+        cache.get("a text longer than the max length");
+        assertEquals(2, cache.size());
+        assertEquals(5, cache.getMissCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+        assertThrows(IllegalArgumentException.class, () -> new EmojiSpansCache(0));
+    }
+
+    @Test
+    public void textModelTest() {
+        EmojiTextModel model = new EmojiTextModel("hi \uD83D\uDC4B");
+        randomEdits(model, 2000);
+        assertThrows(IndexOutOfBoundsException.class, () -> model.replace(model.length(), 1, ""));
+    }
+
+    @Test
+    public void textModelLongTextTest() {
+        final int max = EmojiTextModel.MAX_TEXT_LENGTH;
+        String before = "a".repeat(10 * max);
+        String after = "b".repeat(10 * max);
+        EmojiTextModel model = new EmojiTextModel(before + "\uD83D\uDC4B" + after);
+        // long text is split in segments of the maximum length
+        assertEquals(21, model.getSegments().size());
+        assertEquals("1F44B", model.getSegments().get(10).getEmoji().getUnified());
+        EmojiTextModel.Segment text = model.getSegments().get(9);
+        EmojiTextModel.Segment last = model.getSegments().get(20);
+
+        // typing in the text after the emoji only replaces the segment where it types,
+        // that is split in two halves when it is too long
+        int emoji = 10 * max;
+        EmojiTextModel.Change change = model.replace(emoji + 10, 0, "x");
+        assertEquals(11, change.getFrom());
+        assertEquals(1, change.getRemovedSize());
+        assertEquals(List.of("b".repeat(8) + "x" + "b".repeat(max / 2 - 8), "b".repeat(max / 2)),
+                texts(change.getAddedSegments()));
+        change = model.replace(emoji + 2, 0, "x");
+        assertEquals(10, change.getFrom());
+        assertEquals(2, change.getRemovedSize());
+        assertSame(text, model.getSegments().get(9));
+        assertSame(last, model.getSegments().get(model.getSegments().size() - 1));
+
+        // a skin tone joins the emoji, and leaves the text at both sides unchanged
+        change = model.replace(emoji + 2, 0, "\uD83C\uDFFC");
+        assertEquals(10, change.getFrom());
+        assertEquals(1, change.getRemovedSize());
+        assertEquals("1F44B-1F3FC", change.getAddedSegments().get(0).getEmoji().getUnified());
+        assertSame(text, model.getSegments().get(9));
+        assertEquals(emoji + 4, model.segmentStart(11));
+        assertEquals("x" + "b".repeat(8) + "x" + "b".repeat(max / 2 - 8), model.getSegments().get(11).getText());
+
+        // long text is not split within a surrogate pair
+        model = new EmojiTextModel("a" + "\uD800\uDC00".repeat(max));
+        assertEquals(List.of(683, 682, 684), model.getSegments().stream()
+                .map(EmojiTextModel.Segment::length).collect(Collectors.toList()));
+
+        // a new regional indicator pairs again all the ones after it
+        String flags = "\uD83C\uDDEA\uD83C\uDDF8".repeat(20);
+        model = new EmojiTextModel(flags);
+        model.replace(0, 0, "\uD83C\uDDEA");
+        assertEquals(TextUtils.convertToStringAndEmojiObjects("\uD83C\uDDEA" + flags), toStringAndEmojiObjects(model.getSegments()));
+
+        randomEdits(new EmojiTextModel(before + "\uD83D\uDC4B \uD83C\uDDEA\uD83C\uDDF8" + after), 300);
+    }
+
+    @Test
+    public void textModelPlainTextTest() {
+        // editing a long plain text only copies the segments around the edit
+        final int max = EmojiTextModel.MAX_TEXT_LENGTH;
+        EmojiTextModel model = new EmojiTextModel("a".repeat(1_000_000));
+        int caret = 500_000;
+        for (int i = 0; i < 100; i++) {
+            EmojiTextModel.Change change = model.replace(caret++, 0, "x");
+            assertTrue(change.getRemovedSize() <= 2);
+            assertTrue(change.getAddedSegments().stream().mapToInt(EmojiTextModel.Segment::length).sum() <= 2 * max + 1);
+        }
+        EmojiTextModel.Change change = model.replace(caret, 0, "\uD83D\uDE00");
+        assertEquals("1F600", change.getAddedSegments().stream()
+                .filter(EmojiTextModel.Segment::isEmoji).findFirst().orElseThrow().getEmoji().getUnified());
+        assertTrue(change.getAddedSegments().stream().mapToInt(EmojiTextModel.Segment::length).sum() <= 2 * max + 2);
+    }
+
+    /**
+     * Applies random edits to a model, checking its segments after each one against
+     * the tokenization of the whole text, and against a copy updated with the changes
+     */
+    private static void randomEdits(EmojiTextModel model, int edits) {
+        String[] parts = {"text ", "\uD83D\uDC4B", "\uD83C\uDFFC", "\u200D", "\uD83E\uDDD1", "\uD83C\uDDEA",
+                "\uD83C\uDDF8", "\uFE0F", "1", "\u20E3", "\uD83C\uDFF4", "\uDB40\uDC67", "\uDB40\uDC7F", "\u2764"};
+        Random random = new Random(42);
+        List<EmojiTextModel.Segment> mirror = new ArrayList<>(model.getSegments());
+        for (int n = 0; n < edits; n++) {
+            String text = model.getText();
+            // edit at codepoint positions only
+            int offset = text.offsetByCodePoints(0, random.nextInt(text.codePointCount(0, text.length()) + 1));
+            int removed = random.nextInt(3) == 0 ? 0 : text.offsetByCodePoints(offset,
+                    random.nextInt(Math.min(3, text.codePointCount(offset, text.length())) + 1)) - offset;
+            String inserted = random.nextBoolean() ? parts[random.nextInt(parts.length)] : "";
+
+            EmojiTextModel.Change change = model.replace(offset, removed, inserted);
+            mirror.subList(change.getFrom(), change.getFrom() + change.getRemovedSize()).clear();
+            mirror.addAll(change.getFrom(), change.getAddedSegments());
+
+            String expected = text.substring(0, offset) + inserted + text.substring(offset + removed);
+            assertEquals(expected, model.getText());
+            assertEquals(TextUtils.convertToStringAndEmojiObjects(expected), toStringAndEmojiObjects(model.getSegments()));
+            assertEquals(model.getSegments(), mirror);
+            for (int i = 0; i < mirror.size(); i++) {
+                EmojiTextModel.Segment segment = mirror.get(i);
+                assertEquals(segment.getText(), expected.substring(model.segmentStart(i),
+                        model.segmentStart(i) + segment.length()));
+                if (!segment.isEmoji()) {
+                    assertTrue(segment.length() <= EmojiTextModel.MAX_TEXT_LENGTH);
+                    assertFalse(Character.isHighSurrogate(segment.getText().charAt(segment.length() - 1)) &&
+                            i + 1 < mirror.size() && Character.isLowSurrogate(mirror.get(i + 1).getText().charAt(0)));
+                }
+            }
+        }
+    }
+
+    private static List<String> texts(List<EmojiTextModel.Segment> segments) {
+        List<String> list = new ArrayList<>();
+        for (EmojiTextModel.Segment segment : segments) {
+            list.add(segment.getText());
+        }
+        return list;
+    }
+
+    /**
+     * Returns the emojis and the text between them, merging the consecutive text segments
+     */
+    private static List<Object> toStringAndEmojiObjects(List<EmojiTextModel.Segment> segments) {
+        List<Object> list = new ArrayList<>();
+        for (EmojiTextModel.Segment segment : segments) {
+            if (segment.isEmoji()) {
+                list.add(segment.getEmoji());
+            } else if (!list.isEmpty() && list.get(list.size() - 1) instanceof String) {
+                list.set(list.size() - 1, list.get(list.size() - 1) + segment.getText());
+            } else {
+                list.add(segment.getText());
+            }
+        }
+        return list;
+    }
+}
@@ -3,10 +3,14 @@ package com.gluonhq.emoji.util;
 import com.gluonhq.emoji.Emoji;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.gluonhq.emoji.EmojiData.emojiFromUnicodeString;
+import static com.gluonhq.emoji.util.TextUtils.convertToEmojiSpans;
 import static com.gluonhq.emoji.util.TextUtils.convertToStringAndEmojiObjects;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -143,4 +147,95 @@ public class TextUtilTest {
         assertEquals("1F3F4-E0067-E0062-E0073-E0063-E0074-E007F", emoji2.getUnified());
     }
 
+    @Test
+    public void emojiKeycapFromStringTest() {
+        List<Object> list = convertToStringAndEmojiObjects("1\uFE0F\u20E3 and #\u20E3 but not 1 + 1");
+        assertEquals(4, list.size());
+        assertEquals("0031-FE0F-20E3", ((Emoji) list.get(0)).getUnified());
+        assertEquals(" and ", list.get(1));
+        assertEquals("0023-FE0F-20E3", ((Emoji) list.get(2)).getUnified());
+        assertEquals(" but not 1 + 1", list.get(3));
+    }
+
+    @Test
+    public void emojiNonQualifiedFromStringTest() {
+        List<Object> list = convertToStringAndEmojiObjects("\u263A \u00A9 \u00A9\uFE0F \u2192");
+        assertEquals(4, list.size());
+        assertEquals("263A-FE0F", ((Emoji) list.get(0)).getUnified());
+        assertEquals(" \u00A9 ", list.get(1));
+        assertEquals("00A9-FE0F", ((Emoji) list.get(2)).getUnified());
+        assertEquals(" \u2192", list.get(3));
+    }
+
+    @Test
+    public void emojiCountryFlagsFromStringTest() {
+        List<Object> list = convertToStringAndEmojiObjects("\uD83C\uDDEA\uD83C\uDDF8\uD83C\uDDEB\uD83C\uDDF7\uD83C\uDDEA");
+        assertEquals(3, list.size());
+        assertEquals("1F1EA-1F1F8", ((Emoji) list.get(0)).getUnified());
+        assertEquals("1F1EB-1F1F7", ((Emoji) list.get(1)).getUnified());
+        assertEquals("\uD83C\uDDEA", list.get(2));
+    }
+
+    @Test
+    public void emojiSpansFromStringTest() {
+        String text = "this is an emoji: \uD83D\uDC4B\uD83C\uDFFC\uD83D\uDE04, twice";
+        EmojiSpans spans = convertToEmojiSpans(text);
+        assertEquals(4, spans.size());
+        assertFalse(spans.isEmoji(0));
+        assertEquals(-1, spans.emojiId(0));
+        assertEquals("this is an emoji: ", spans.subSequence(0).toString());
+        assertEquals(18, spans.start(1));
+        assertEquals(22, spans.end(1));
+        assertEquals("1F44B-1F3FC", spans.emoji(1).getUnified());
+        assertEquals("1F604", spans.emoji(2).getUnified());
+        assertEquals(", twice", spans.subSequence(3).toString());
+        assertEquals(convertToStringAndEmojiObjects(text), spans.toStringAndEmojiObjects());
+        assertEquals(0, convertToEmojiSpans("").size());
+    }
+
+    @Test
+    public void emojiSpansFromBatchTest() throws Exception {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            texts.add("message " + i + (i % 2 == 0 ? " \uD83D\uDC4B\uD83C\uDFFC" : ""));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<EmojiSpans> spans = convertToEmojiSpans(texts, executor).get();
+            assertEquals(texts.size(), spans.size());
+            for (int i = 0; i < texts.size(); i++) {
+                assertEquals(texts.get(i), spans.get(i).getText());
+                assertEquals(convertToStringAndEmojiObjects(texts.get(i)), spans.get(i).toStringAndEmojiObjects());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void containsEmojiTest() {
+        assertFalse(TextUtils.containsEmoji(""));
+        assertFalse(TextUtils.containsEmoji("plain text, caf\u00E9 \u00A9 2026"));
+        assertFalse(TextUtils.containsEmoji("\uD83C\uDDEA"));
+        assertTrue(TextUtils.containsEmoji("hi \uD83D\uDC4B\uD83C\uDFFC"));
+        assertTrue(TextUtils.containsEmoji(new StringBuilder("flag \uD83C\uDDEA\uD83C\uDDF8")));
+    }
+
+    @Test
+    public void codePointPropertiesTest() {
+        EmojiCodePoints properties = EmojiTrie.getInstance().properties();
+        assertTrue(properties.is(0x1F44B, EmojiCodePoints.START | EmojiCodePoints.MEMBER));
+        assertTrue(properties.is(0x1F3FC, EmojiCodePoints.CONTINUATION));
+        assertTrue(properties.is(0x1F1EA, EmojiCodePoints.START | EmojiCodePoints.CONTINUATION));
+        assertTrue(properties.is(0x200D, EmojiCodePoints.CONTINUATION));
+        assertFalse(properties.is(0x200D, EmojiCodePoints.START));
+        assertTrue(properties.is(0x1F3FC, EmojiCodePoints.MODIFIER));
+        assertTrue(properties.is(0x1F44B, EmojiCodePoints.MODIFIER_BASE));
+        assertTrue(properties.is(0x1F44B, EmojiCodePoints.PERSON));
+        assertFalse(properties.is(0x1F604, EmojiCodePoints.MODIFIER_BASE | EmojiCodePoints.PERSON));
+        assertTrue(properties.is(0x1F1EA, EmojiCodePoints.REGIONAL_INDICATOR));
+        assertFalse(properties.is(0x1F44B, EmojiCodePoints.MODIFIER | EmojiCodePoints.REGIONAL_INDICATOR));
+        assertEquals(0, properties.flags('a'));
+        assertEquals(0, properties.flags(Character.MAX_CODE_POINT));
+    }
 }
@@ -36,4 +36,10 @@ public class LocalEmojiSpriteLoader implements EmojiSpriteLoader {
     public InputStream loadCSV() {
         return LocalEmojiSpriteLoader.class.getResourceAsStream("emoji.csv");
     }
+
+    @Override
+    public InputStream loadIndex() {
+        // the csv file is a copy of the one of the emoji module
+        return EmojiSpriteLoader.loadBundledIndex();
+    }
 }
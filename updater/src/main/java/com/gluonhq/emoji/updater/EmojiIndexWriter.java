@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026, Gluon
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL GLUON BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.gluonhq.emoji.updater;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the emoji.csv file into the binary index that the emoji module reads
+ * at startup instead of parsing the csv file.
+ *
+ * See com.gluonhq.emoji.EmojiIndex for the layout of the index. Any change here
+ * requires a new version of the index there.
+ */
+public class EmojiIndexWriter {
+
+    private static final int MAGIC = 0x454D4A49;
+    private static final int VERSION = 2;
+
+    private static final String COMMA_DELIMITER = "#";
+    private static final String ITEMS_LIST_DELIMITER = "!";
+    private static final String FIELDS_SKIN_DELIMITER = ",";
+    private static final int MAX_UNSIGNED_SHORT = 0xFFFF;
+    private static final int MAX_UNSIGNED_BYTE = 0xFF;
+
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    // the shortName and unified value of each emoji and skin variation, by their number
+    private final List<String> shortNames = new ArrayList<>();
+    private final List<String> unifiedValues = new ArrayList<>();
+    private final ByteArrayOutputStream emojiBytes = new ByteArrayOutputStream();
+    private final DataOutputStream emojiData = new DataOutputStream(emojiBytes);
+
+    /**
+     * Writes the index of a csv file
+     *
+     * @param csvPath the path of the emoji.csv file
+     * @param indexPath the path of the index file
+     * @throws IOException if the csv file can't be read or the index can't be written
+     */
+    public static void write(Path csvPath, Path indexPath) throws IOException {
+        List<String> lines = Files.readAllLines(csvPath, StandardCharsets.UTF_8);
+        EmojiIndexWriter writer = new EmojiIndexWriter();
+        int count = 0;
+        for (String line : lines) {
+            if (!line.isEmpty()) {
+                writer.writeEmoji(line.split(COMMA_DELIMITER, -1));
+                count++;
+            }
+        }
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(indexPath))) {
+            writer.writeTo(output, count);
+        }
+    }
+
+    private void writeEmoji(String[] v) throws IOException {
+        int i = 0;
+        writeString(v[i++]); // name
+        writeString(v[i++]); // unified
+        writeString(v[i++]); // non qualified
+        writeString(v[i++]); // docomo
+        writeString(v[i++]); // au
+        writeString(v[i++]); // softbank
+        writeString(v[i++]); // google
+        writeString(v[i++]); // image
+        writeShort(v[i++]); // sheet x
+        writeShort(v[i++]); // sheet y
+        writeString(v[i++]); // short name
+        writeList(v[i++]); // short names
+        writeString(v[i++]); // text
+        writeList(v[i++]); // texts
+        writeString(v[i++]); // category
+        writeString(v[i++]); // subcategory
+        emojiData.writeInt(Integer.parseInt(v[i++])); // sort order
+        writeString(v[i++]); // added in
+        emojiData.writeByte(imageFlags(v[i++], v[i++], v[i++], v[i++]));
+        shortNames.add(v[10]);
+        unifiedValues.add(v[1]);
+        writeSkinVariations(v[10], v[i++]);
+        writeString(v[i++]); // obsoletes
+        writeString(v[i]); // obsoleted by
+    }
+
+    private void writeSkinVariations(String shortName, String skinVariations) throws IOException {
+        String[] skins = skinVariations.isEmpty() ? new String[0] : skinVariations.split(ITEMS_LIST_DELIMITER);
+        writeCount(skins.length, MAX_UNSIGNED_BYTE);
+        for (String skin : skins) {
+            String[] values = skin.split(FIELDS_SKIN_DELIMITER);
+            int i = 0;
+            writeString(values[i++]); // tone
+            writeString(values[i++]); // unified
+            writeString(values[i++]); // non qualified
+            writeString(values[i++]); // image
+            writeShort(values[i++]); // sheet x
+            writeShort(values[i++]); // sheet y
+            writeString(values[i++]); // added in
+            emojiData.writeByte(imageFlags(values[i++], values[i++], values[i++], values[i++]));
+            writeString(values.length > i ? values[i] : ""); // obsoletes
+            writeString(values.length > i + 1 ? values[i + 1] : ""); // obsoleted by
+            // like com.gluonhq.emoji.Emoji.createSkinVariation
+            shortNames.add(shortName + ":" + values[0]);
+            unifiedValues.add(values[1]);
+        }
+    }
+
+    private void writeList(String list) throws IOException {
+        String[] items = list.isEmpty() ? new String[0] : list.split(ITEMS_LIST_DELIMITER);
+        writeCount(items.length, MAX_UNSIGNED_BYTE);
+        for (String item : items) {
+            writeString(item);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        Integer index = stringIndices.get(value);
+        if (index == null) {
+            index = strings.size();
+            if (index > MAX_UNSIGNED_SHORT) {
+                throw new IOException("Too many strings for the emoji index");
+            }
+            strings.add(value);
+            stringIndices.put(value, index);
+        }
+        emojiData.writeShort(index);
+    }
+
+    private void writeShort(String value) throws IOException {
+        emojiData.writeShort(Integer.parseInt(value));
+    }
+
+    private void writeCount(int count, int max) throws IOException {
+        if (count > max) {
+            throw new IOException("Too many items for the emoji index: " + count);
+        }
+        emojiData.writeByte(count);
+    }
+
+    private void writeTo(DataOutputStream output, int count) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(strings.size());
+        for (String s : strings) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_UNSIGNED_SHORT) {
+                throw new IOException("String too long for the emoji index: " + s);
+            }
+            output.writeShort(bytes.length);
+            output.write(bytes);
+        }
+        output.writeInt(count);
+        emojiData.flush();
+        emojiBytes.writeTo(output);
+        int capacity = capacity(shortNames.size());
+        output.writeInt(capacity);
+        writeHashTable(output, shortNames, capacity);
+        writeHashTable(output, unifiedValues, capacity);
+    }
+
+    /**
+     * Writes an open addressing hash table of the given keys, with the number of each
+     * key plus one in its slot. It must match com.gluonhq.emoji.EmojiHashTable.
+     */
+    private static void writeHashTable(DataOutputStream output, List<String> keys, int capacity) throws IOException {
+        if (keys.size() >= MAX_UNSIGNED_SHORT) {
+            throw new IOException("Too many emojis for the emoji index: " + keys.size());
+        }
+        int[] slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            int h = key.hashCode();
+            int slot = (h ^ (h >>> 16)) & mask;
+            while (slots[slot] != 0 && !keys.get(slots[slot] - 1).equals(key)) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+        for (int slot : slots) {
+            output.writeShort(slot);
+        }
+    }
+
+    /**
+     * @return the smallest power of two that is at least twice the number of keys
+     */
+    private static int capacity(int count) {
+        return Integer.highestOneBit(Math.max(1, count * 2 - 1)) << 1;
+    }
+
+    private static int imageFlags(String apple, String google, String twitter, String facebook) {
+        return (Boolean.parseBoolean(apple) ? 1 : 0) |
+                (Boolean.parseBoolean(google) ? 1 << 1 : 0) |
+                (Boolean.parseBoolean(twitter) ? 1 << 2 : 0) |
+                (Boolean.parseBoolean(facebook) ? 1 << 3 : 0);
+    }
+}
@@ -55,7 +55,8 @@ import java.util.logging.Logger;
  * Run this class to get the latest emoji data from https://github.com/iamcal/emoji-data/
  *
  * It grabs the emoji.json and the related sprite sheet images, and add them to the emoji module,
- * converting the json format into a csv file that can be read without third party dependencies.
+ * converting the json format into a csv file that can be read without third party dependencies,
+ * and into a binary index of that file, with its hash tables, that is faster to read.
  *
  * Current Emoji version: 15.0 (September 2022)
  * Current emoji-data tag: 15.0.1 (May 2023)
@@ -102,6 +103,9 @@ public class Main {
         }
         writer.close();
 
+        LOG.info("Creating emoji.idx...");
+        EmojiIndexWriter.write(files.resolve("emoji.csv"), files.resolve("emoji.idx"));
+
         LOG.info("Copying files to offline...");
         Path offlinePath = files.toAbsolutePath().getParent().getParent()
                 .resolve(Path.of("offline", "src", "main", "resources", "com", "gluonhq", "emoji", "offline"));
@@ -114,6 +118,7 @@ public class Main {
         Path resourcesPath = files.toAbsolutePath().getParent().getParent()
                 .resolve(Path.of("emoji", "src", "main", "resources", "com", "gluonhq", "emoji"));
         Files.copy(files.resolve("emoji.csv"), resourcesPath.resolve("emoji.csv"), StandardCopyOption.REPLACE_EXISTING);
+        Files.copy(files.resolve("emoji.idx"), resourcesPath.resolve("emoji.idx"), StandardCopyOption.REPLACE_EXISTING);
         LOG.info("Updating emoji.properties...");
         Path propertiesFilePath = resourcesPath.resolve("emoji.properties");
         Properties properties = new Properties();
@@ -131,7 +136,26 @@ public class Main {
         }
     }
 
+    /**
+     * Creates the emoji.idx file from the current emoji.csv file of the emoji module,
+     * without downloading anything. The offline module uses the same index.
+     */
+    private static void updateIndices() throws IOException {
+        Path path = Path.of("").toAbsolutePath().getParent()
+                .resolve(Path.of("emoji", "src", "main", "resources", "com", "gluonhq", "emoji"));
+        LOG.info("Creating " + path.resolve("emoji.idx"));
+        EmojiIndexWriter.write(path.resolve("emoji.csv"), path.resolve("emoji.idx"));
+    }
+
+    /**
+     * Run with the "index" argument to only update the emoji.idx file
+     * from the current emoji.csv file
+     */
     public static void main(String[] args) throws IOException {
-        new Main();
+        if (args.length > 0 && "index".equals(args[0])) {
+            updateIndices();
+        } else {
+            new Main();
+        }
     }
 }